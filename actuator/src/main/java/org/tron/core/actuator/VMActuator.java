@@ -369,7 +369,7 @@ public class VMActuator implements Actuator2 {
       long vmShouldEndInUs = vmStartInUs + thisTxCPULimitInUs;
       ProgramInvoke programInvoke = programInvokeFactory
           .createProgramInvoke(TrxType.TRX_CONTRACT_CREATION_TYPE, executorType, trx,
-              tokenValue, tokenId, blockCap.getInstance(), repository, vmStartInUs,
+              tokenValue, tokenId, blockCap.getBlockHeader().getRawData(), repository, vmStartInUs,
               vmShouldEndInUs, energyLimit);
       this.vm = new VM();
       this.program = new Program(ops, programInvoke, rootInternalTransaction, vmConfig
@@ -481,7 +481,7 @@ public class VMActuator implements Actuator2 {
       long vmShouldEndInUs = vmStartInUs + thisTxCPULimitInUs;
       ProgramInvoke programInvoke = programInvokeFactory
           .createProgramInvoke(TrxType.TRX_CONTRACT_CALL_TYPE, executorType, trx,
-              tokenValue, tokenId, blockCap.getInstance(), repository, vmStartInUs,
+              tokenValue, tokenId, blockCap.getBlockHeader().getRawData(), repository, vmStartInUs,
               vmShouldEndInUs, energyLimit);
       if (isConstantCall) {
         programInvoke.setConstantCall();
@@ -690,8 +690,7 @@ public class VMActuator implements Actuator2 {
   }
 
   private boolean isCheckTransaction() {
-    return this.blockCap != null && !this.blockCap.getInstance().getBlockHeader()
-        .getWitnessSignature().isEmpty();
+    return this.blockCap != null && this.blockCap.hasWitnessSignature();
   }
 
 
@@ -23,7 +23,7 @@ import static java.lang.String.format;
 import static org.tron.common.utils.ByteUtil.EMPTY_BYTE_ARRAY;
 import static org.tron.common.utils.ByteUtil.oneByteToHexString;
 
-import java.util.LinkedList;
+import java.util.ArrayList;
 import java.util.List;
 import org.tron.common.runtime.vm.DataWord;
 import org.tron.core.vm.program.listener.ProgramListener;
@@ -34,7 +34,8 @@ public class Memory implements ProgramListenerAware {
   private static final int CHUNK_SIZE = 1024;
   private static final int WORD_SIZE = 32;
 
-  private List<byte[]> chunks = new LinkedList<>();
+  // indexed by address / CHUNK_SIZE, must support random access
+  private ArrayList<byte[]> chunks = new ArrayList<>();
   private int softSize;
   private ProgramListener programListener;
 
@@ -139,7 +140,15 @@ public class Memory implements ProgramListenerAware {
   }
 
   public DataWord readWord(int address) {
-    return new DataWord(read(address, 32));
+    int chunkOffset = address % CHUNK_SIZE;
+    // a word inside one allocated chunk is copied straight into the new word
+    if (address >= 0 && chunkOffset + WORD_SIZE <= CHUNK_SIZE
+        && address + WORD_SIZE <= softSize) {
+      byte[] data = new byte[WORD_SIZE];
+      System.arraycopy(chunks.get(address / CHUNK_SIZE), chunkOffset, data, 0, WORD_SIZE);
+      return new DataWord(data);
+    }
+    return new DataWord(read(address, WORD_SIZE));
   }
 
   // just access expecting all data valid
@@ -195,7 +204,7 @@ public class Memory implements ProgramListenerAware {
   }
 
   public List<byte[]> getChunks() {
-    return new LinkedList<>(chunks);
+    return new ArrayList<>(chunks);
   }
 
   private int captureMax(int chunkIndex, int chunkOffset, int size, byte[] src, int srcPos) {
@@ -218,6 +227,7 @@ public class Memory implements ProgramListenerAware {
   }
 
   private void addChunks(int num) {
+    chunks.ensureCapacity(chunks.size() + num);
     for (int i = 0; i < num; ++i) {
       chunks.add(new byte[CHUNK_SIZE]);
     }
@@ -91,7 +91,7 @@ public class Program {
 
   private static final int MAX_DEPTH = 64;
   //Max size for stack checks
-  private static final int MAX_STACK_SIZE = 1024;
+  private static final int MAX_STACK_SIZE = Stack.MAX_SIZE;
   private static final String VALIDATE_FOR_SMART_CONTRACT_FAILURE =
       "validateForSmartContract failure:%s";
   private static final String INVALID_TOKEN_ID_MSG = "not valid token id";
@@ -299,7 +299,7 @@ public class Program {
 
   public ProgramPrecompile getProgramPrecompile() {
     if (programPrecompile == null) {
-      programPrecompile = ProgramPrecompile.compile(ops);
+      programPrecompile = ProgramPrecompile.getInstance(ops);
     }
     return programPrecompile;
   }
@@ -17,10 +17,14 @@
  */
 package org.tron.core.vm.program;
 
-import java.util.HashSet;
-import java.util.Set;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import java.util.BitSet;
+import java.util.concurrent.atomic.LongAdder;
 import lombok.extern.slf4j.Slf4j;
+import org.tron.common.crypto.Hash;
 import org.tron.common.runtime.vm.DataWord;
+import org.tron.core.db.ByteArrayWrapper;
 import org.tron.core.vm.OpCode;
 import org.tron.core.vm.config.VMConfig;
 
@@ -31,10 +35,57 @@ import org.tron.core.vm.config.VMConfig;
  */
 public class ProgramPrecompile {
 
-  private Set<Integer> jumpdest = new HashSet<>();
+  // jump tables of the most recently run code, shared by all programs and threads
+  private static final int CACHE_SIZE = 5_000;
+  private static final Cache<ByteArrayWrapper, ProgramPrecompile> cache = CacheBuilder
+      .newBuilder().maximumSize(CACHE_SIZE).build();
+  private static final LongAdder hitCount = new LongAdder();
+  private static final LongAdder missCount = new LongAdder();
+
+  // never modified after compile, so an instance can be shared
+  private final BitSet jumpdest;
+
+  private ProgramPrecompile(int codeLength) {
+    jumpdest = new BitSet(codeLength);
+  }
+
+  /**
+   * Get the jump table of the code from the cache keyed by code hash, compile it on a miss.
+   */
+  public static ProgramPrecompile getInstance(byte[] ops) {
+    if (ops.length == 0) {
+      return compile(ops);
+    }
+
+    ByteArrayWrapper codeHash = new ByteArrayWrapper(Hash.sha3(ops));
+    ProgramPrecompile ret = cache.getIfPresent(codeHash);
+    if (ret != null) {
+      hitCount.increment();
+      return ret;
+    }
+
+    missCount.increment();
+    ret = compile(ops);
+    cache.put(codeHash, ret);
+    return ret;
+  }
+
+  /**
+   * Cache hits since the last call, used to feed the node metrics.
+   */
+  public static long takeHitCount() {
+    return hitCount.sumThenReset();
+  }
+
+  /**
+   * Cache misses since the last call, used to feed the node metrics.
+   */
+  public static long takeMissCount() {
+    return missCount.sumThenReset();
+  }
 
   public static ProgramPrecompile compile(byte[] ops) {
-    ProgramPrecompile ret = new ProgramPrecompile();
+    ProgramPrecompile ret = new ProgramPrecompile(ops.length);
     for (int i = 0; i < ops.length; ++i) {
 
       OpCode op = OpCode.code(ops[i]);
@@ -44,7 +95,7 @@ public class ProgramPrecompile {
 
       if (op.equals(OpCode.JUMPDEST)) {
         logger.debug("JUMPDEST:" + i);
-        ret.jumpdest.add(i);
+        ret.jumpdest.set(i);
       }
 
       if (op.asInt() >= OpCode.PUSH1.asInt() && op.asInt() <= OpCode.PUSH32.asInt()) {
@@ -88,6 +139,6 @@ public class ProgramPrecompile {
   }
 
   public boolean hasJumpDest(int pc) {
-    return jumpdest.contains(pc);
+    return pc >= 0 && jumpdest.get(pc);
   }
 }
@@ -17,36 +17,73 @@
  */
 package org.tron.core.vm.program;
 
+import java.util.Arrays;
+import java.util.EmptyStackException;
 import java.util.Objects;
 import org.tron.common.runtime.vm.DataWord;
 import org.tron.core.vm.program.listener.ProgramListener;
 import org.tron.core.vm.program.listener.ProgramListenerAware;
 
-public class Stack extends java.util.Stack<DataWord> implements ProgramListenerAware {
+/**
+ * Operand stack of a program, a fixed size array that is only used by the thread running
+ * the program. Indexes count from the bottom of the stack, like java.util.Stack.
+ */
+public class Stack implements ProgramListenerAware {
 
-  private static final long serialVersionUID = 1;
+  public static final int MAX_SIZE = 1024;
 
-  private transient ProgramListener programListener;
+  private final DataWord[] items = new DataWord[MAX_SIZE];
+  private int size;
+  private ProgramListener programListener;
 
   @Override
   public void setProgramListener(ProgramListener listener) {
     this.programListener = listener;
   }
 
-  @Override
-  public synchronized DataWord pop() {
+  public DataWord pop() {
+    if (size == 0) {
+      throw new EmptyStackException();
+    }
     if (programListener != null) {
       programListener.onStackPop();
     }
-    return super.pop();
+    DataWord item = items[--size];
+    items[size] = null;
+    return item;
   }
 
-  @Override
   public DataWord push(DataWord item) {
+    if (size == MAX_SIZE) {
+      throw new IllegalStateException("stack overflow " + MAX_SIZE + " elements");
+    }
     if (programListener != null) {
       programListener.onStackPush(item);
     }
-    return super.push(item);
+    items[size++] = item;
+    return item;
+  }
+
+  public DataWord peek() {
+    if (size == 0) {
+      throw new EmptyStackException();
+    }
+    return items[size - 1];
+  }
+
+  public DataWord get(int index) {
+    if (index < 0 || index >= size) {
+      throw new ArrayIndexOutOfBoundsException(index);
+    }
+    return items[index];
+  }
+
+  public int size() {
+    return size;
+  }
+
+  public boolean isEmpty() {
+    return size == 0;
   }
 
   public void swap(int from, int to) {
@@ -54,13 +91,14 @@ public class Stack extends java.util.Stack<DataWord> implements ProgramListenerA
       if (programListener != null) {
         programListener.onStackSwap(from, to);
       }
-      DataWord tmp = get(from);
-      set(from, set(to, tmp));
+      DataWord tmp = items[from];
+      items[from] = items[to];
+      items[to] = tmp;
     }
   }
 
   private boolean isAccessible(int from) {
-    return from >= 0 && from < size();
+    return from >= 0 && from < size;
   }
 
   @Override
@@ -74,16 +112,20 @@ public class Stack extends java.util.Stack<DataWord> implements ProgramListenerA
     if (o.getClass() != this.getClass()) {
       return false;
     }
-    if (!super.equals(o)) {
-      return false;
-    }
     Stack dataWords = (Stack) o;
-    return Objects.equals(programListener, dataWords.programListener);
+    // slots above the size are always null
+    return size == dataWords.size && Arrays.equals(items, dataWords.items)
+        && Objects.equals(programListener, dataWords.programListener);
   }
 
 
   @Override
   public int hashCode() {
-    return Objects.hash(super.hashCode(), programListener);
+    return Objects.hash(Arrays.hashCode(items), programListener);
+  }
+
+  @Override
+  public String toString() {
+    return Arrays.toString(Arrays.copyOf(items, size));
   }
 }
@@ -23,7 +23,7 @@ import org.tron.common.runtime.vm.DataWord;
 import org.tron.core.exception.ContractValidateException;
 import org.tron.core.vm.program.Program;
 import org.tron.core.vm.repository.Repository;
-import org.tron.protos.Protocol.Block;
+import org.tron.protos.Protocol.BlockHeader;
 import org.tron.protos.Protocol.Transaction;
 
 /**
@@ -34,7 +34,8 @@ public interface ProgramInvokeFactory {
 
   ProgramInvoke createProgramInvoke(InternalTransaction.TrxType trxType,
       InternalTransaction.ExecutorType executorType,
-      Transaction tx, long tokenValue, long tokenId, Block block, Repository deposit,
+      Transaction tx, long tokenValue, long tokenId, BlockHeader.raw blockHeader,
+      Repository deposit,
       long vmStartInUs,
       long vmShouldEndInUs,
       long energyLimit) throws ContractValidateException;
@@ -31,7 +31,7 @@ import org.tron.core.capsule.ContractCapsule;
 import org.tron.core.exception.ContractValidateException;
 import org.tron.core.vm.program.Program;
 import org.tron.core.vm.repository.Repository;
-import org.tron.protos.Protocol.Block;
+import org.tron.protos.Protocol.BlockHeader;
 import org.tron.protos.Protocol.Transaction;
 import org.tron.protos.contract.SmartContractOuterClass.CreateSmartContract;
 import org.tron.protos.contract.SmartContractOuterClass.TriggerSmartContract;
@@ -49,7 +49,7 @@ public class ProgramInvokeFactoryImpl implements ProgramInvokeFactory {
   @Override
   public ProgramInvoke createProgramInvoke(InternalTransaction.TrxType trxType,
       InternalTransaction.ExecutorType executorType, Transaction tx, long tokenValue, long tokenId,
-      Block block,
+      BlockHeader.raw blockHeader,
       Repository deposit, long vmStartInUs,
       long vmShouldEndInUs, long energyLimit) throws ContractValidateException {
     byte[] contractAddress;
@@ -72,12 +72,11 @@ public class ProgramInvokeFactoryImpl implements ProgramInvokeFactory {
       switch (executorType) {
         case ET_NORMAL_TYPE:
         case ET_PRE_TYPE:
-          if (null != block) {
-            lastHash = block.getBlockHeader().getRawDataOrBuilder().getParentHash().toByteArray();
-            coinbase = block.getBlockHeader().getRawDataOrBuilder().getWitnessAddress()
-                .toByteArray();
-            timestamp = block.getBlockHeader().getRawDataOrBuilder().getTimestamp() / 1000;
-            number = block.getBlockHeader().getRawDataOrBuilder().getNumber();
+          if (null != blockHeader) {
+            lastHash = blockHeader.getParentHash().toByteArray();
+            coinbase = blockHeader.getWitnessAddress().toByteArray();
+            timestamp = blockHeader.getTimestamp() / 1000;
+            number = blockHeader.getNumber();
           }
           break;
         default:
@@ -119,16 +118,15 @@ public class ProgramInvokeFactoryImpl implements ProgramInvokeFactory {
           break;
         case ET_PRE_TYPE:
         case ET_NORMAL_TYPE:
-          if (null != block) {
+          if (null != blockHeader) {
             /***    PREVHASH  op  ***/
-            lastHash = block.getBlockHeader().getRawDataOrBuilder().getParentHash().toByteArray();
+            lastHash = blockHeader.getParentHash().toByteArray();
             /***   COINBASE  op ***/
-            coinbase = block.getBlockHeader().getRawDataOrBuilder().getWitnessAddress()
-                .toByteArray();
+            coinbase = blockHeader.getWitnessAddress().toByteArray();
             /*** TIMESTAMP  op  ***/
-            timestamp = block.getBlockHeader().getRawDataOrBuilder().getTimestamp() / 1000;
+            timestamp = blockHeader.getTimestamp() / 1000;
             /*** NUMBER  op  ***/
-            number = block.getBlockHeader().getRawDataOrBuilder().getNumber();
+            number = blockHeader.getNumber();
           }
           break;
         default:
@@ -18,6 +18,7 @@ package org.tron.core.capsule;
 import com.google.common.primitives.Longs;
 import com.google.protobuf.ByteString;
 import com.google.protobuf.CodedInputStream;
+import com.google.protobuf.CodedOutputStream;
 import com.google.protobuf.InvalidProtocolBufferException;
 import java.security.SignatureException;
 import java.util.ArrayList;
@@ -59,6 +60,10 @@ public class BlockCapsule implements ProtoCapsule<Block> {
   private BlockId blockId = new BlockId(Sha256Hash.ZERO_HASH, 0);
 
   private Block block;
+  // while packing transactions, they are appended to this builder and the block is only
+  // rebuilt once it is read or sealed, instead of re-serializing it for every transaction.
+  private Block.Builder blockBuilder;
+  private long serializedSize;
   private List<TransactionCapsule> transactions = new ArrayList<>();
   private StringBuilder toStringBuff = new StringBuilder();
   private boolean isSwitch;
@@ -140,10 +145,38 @@ public class BlockCapsule implements ProtoCapsule<Block> {
   }
 
   public void addTransaction(TransactionCapsule pendingTrx) {
-    this.block = this.block.toBuilder().addTransactions(pendingTrx.getInstance()).build();
+    if (blockBuilder == null) {
+      blockBuilder = this.block.toBuilder();
+      serializedSize = this.block.getSerializedSize();
+    }
+    blockBuilder.addTransactions(pendingTrx.getInstance());
+    serializedSize += CodedOutputStream
+        .computeMessageSize(Block.TRANSACTIONS_FIELD_NUMBER, pendingTrx.getInstance());
     getTransactions().add(pendingTrx);
   }
 
+  /**
+   * Serialized size of the block, kept as a running counter while transactions are packed.
+   */
+  public long getSerializedSize() {
+    if (blockBuilder == null) {
+      return this.block.getSerializedSize();
+    }
+    return serializedSize;
+  }
+
+  private void seal() {
+    if (blockBuilder != null) {
+      this.block = blockBuilder.build();
+      blockBuilder = null;
+    }
+  }
+
+  // the builder transactions are being appended to, null once the block is sealed
+  Block.Builder getBlockBuilder() {
+    return blockBuilder;
+  }
+
   public List<TransactionCapsule> getTransactions() {
     return transactions;
   }
@@ -156,6 +189,7 @@ public class BlockCapsule implements ProtoCapsule<Block> {
 
   // TODO add unit test for sig2.getbytes
   public void sign(byte[] privateKey) {
+    seal();
     SignInterface ecKeyEngine = SignUtils.fromPrivate(privateKey, CommonParameter.getInstance().isECKeyCryptoEngine());
 
     ByteString sig = ByteString.copyFrom(ecKeyEngine.Base64toBytes(ecKeyEngine.signHash(getRawHash()
@@ -205,7 +239,7 @@ public class BlockCapsule implements ProtoCapsule<Block> {
   }
 
   public Sha256Hash calcMerkleRoot() {
-    List<Transaction> transactionsList = this.block.getTransactionsList();
+    List<Transaction> transactionsList = getInstance().getTransactionsList();
 
     if (CollectionUtils.isEmpty(transactionsList)) {
       return Sha256Hash.ZERO_HASH;
@@ -220,6 +254,7 @@ public class BlockCapsule implements ProtoCapsule<Block> {
   }
 
   public void setMerkleRoot() {
+    seal();
     BlockHeader.raw blockHeaderRaw =
         this.block.getBlockHeader().getRawData().toBuilder()
             .setTxTrieRoot(calcMerkleRoot().getByteString()).build();
@@ -229,6 +264,7 @@ public class BlockCapsule implements ProtoCapsule<Block> {
   }
 
   public void setAccountStateRoot(byte[] root) {
+    seal();
     BlockHeader.raw blockHeaderRaw =
         this.block.getBlockHeader().getRawData().toBuilder()
             .setAccountStateRoot(ByteString.copyFrom(root)).build();
@@ -239,6 +275,7 @@ public class BlockCapsule implements ProtoCapsule<Block> {
 
   /* only for genisis */
   public void setWitness(String witness) {
+    seal();
     BlockHeader.raw blockHeaderRaw =
         this.block.getBlockHeader().getRawData().toBuilder().setWitnessAddress(
             ByteString.copyFrom(witness.getBytes())).build();
@@ -265,14 +302,23 @@ public class BlockCapsule implements ProtoCapsule<Block> {
 
   @Override
   public byte[] getData() {
-    return this.block.toByteArray();
+    return getInstance().toByteArray();
   }
 
   @Override
   public Block getInstance() {
+    seal();
     return this.block;
   }
 
+  /**
+   * The header of the block. Unlike {@link #getInstance()} it does not build the block, so
+   * it can be read between the transactions being packed.
+   */
+  public BlockHeader getBlockHeader() {
+    return this.block.getBlockHeader();
+  }
+
   public Sha256Hash getParentHash() {
     return Sha256Hash.wrap(this.block.getBlockHeader().getRawData().getParentHash());
   }
@@ -294,7 +340,7 @@ public class BlockCapsule implements ProtoCapsule<Block> {
   }
 
   public boolean hasWitnessSignature() {
-    return !getInstance().getBlockHeader().getWitnessSignature().isEmpty();
+    return !this.block.getBlockHeader().getWitnessSignature().isEmpty();
   }
 
   @Override
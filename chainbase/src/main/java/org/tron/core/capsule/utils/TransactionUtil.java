@@ -99,8 +99,8 @@ public class TransactionUtil {
     builder.addAllLog(logList);
 
     if (Objects.nonNull(block)) {
-      builder.setBlockNumber(block.getInstance().getBlockHeader().getRawData().getNumber());
-      builder.setBlockTimeStamp(block.getInstance().getBlockHeader().getRawData().getTimestamp());
+      builder.setBlockNumber(block.getNum());
+      builder.setBlockTimeStamp(block.getTimeStamp());
     }
 
     builder.setReceipt(traceReceipt.getReceipt());
@@ -1,8 +1,6 @@
 package org.tron.core.db;
 
 import com.google.protobuf.ByteString;
-import java.util.ArrayList;
-import java.util.Comparator;
 import java.util.List;
 import lombok.Getter;
 import lombok.Setter;
@@ -14,7 +12,6 @@ import org.tron.common.parameter.CommonParameter;
 import org.tron.common.utils.StringUtil;
 import org.tron.core.capsule.AccountCapsule;
 import org.tron.core.capsule.WitnessCapsule;
-import org.tron.core.config.Parameter.ChainConstant;
 import org.tron.core.exception.BalanceInsufficientException;
 import org.tron.core.store.AccountStore;
 import org.tron.core.store.DelegationStore;
@@ -48,24 +45,18 @@ public class DelegationService {
   }
 
   public void payStandbyWitness() {
-    List<ByteString> witnessAddressList = new ArrayList<>();
-    for (WitnessCapsule witnessCapsule : witnessStore.getAllWitnesses()) {
-      witnessAddressList.add(witnessCapsule.getAddress());
-    }
-    sortWitness(witnessAddressList);
-    if (witnessAddressList.size() > ChainConstant.WITNESS_STANDBY_LENGTH) {
-      witnessAddressList = witnessAddressList.subList(0, ChainConstant.WITNESS_STANDBY_LENGTH);
-    }
+    List<WitnessCapsule> witnessList = witnessStore.getStandbyWitnesses();
 
     long voteSum = 0;
     long totalPay = dynamicPropertiesStore.getWitness127PayPerBlock();
-    for (ByteString b : witnessAddressList) {
-      voteSum += getWitnesseByAddress(b).getVoteCount();
+    for (WitnessCapsule witness : witnessList) {
+      voteSum += witness.getVoteCount();
     }
     if (voteSum > 0) {
-      for (ByteString b : witnessAddressList) {
+      for (WitnessCapsule witness : witnessList) {
+        ByteString b = witness.getAddress();
         double eachVotePay = (double) totalPay / voteSum;
-        long pay = (long) (getWitnesseByAddress(b).getVoteCount() * eachVotePay);
+        long pay = (long) (witness.getVoteCount() * eachVotePay);
         logger.debug("pay {} stand reward {}", Hex.toHexString(b.toByteArray()), pay);
         delegationStore.addVodeReward(dynamicPropertiesStore
             .getCurrentCycleNumber(), b.toByteArray(), pay);
@@ -228,9 +219,4 @@ public class DelegationService {
     account.setAllowance(allowance + amount);
     accountStore.put(account.createDbKey(), account);
   }
-
-  private void sortWitness(List<ByteString> list) {
-    list.sort(Comparator.comparingLong((ByteString b) -> getWitnesseByAddress(b).getVoteCount())
-        .reversed().thenComparing(Comparator.comparingInt(ByteString::hashCode).reversed()));
-  }
 }
\ No newline at end of file
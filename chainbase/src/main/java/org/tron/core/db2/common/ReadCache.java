@@ -0,0 +1,97 @@
+package org.tron.core.db2.common;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import lombok.Getter;
+
+/**
+ * Size-bounded read-through cache of the values persisted in a root db.
+ *
+ * <p>Absent keys are cached as well, so repeated misses do not go to the db either.
+ * Writers must call {@link #update} after the db write completes; a read that raced with a
+ * write is not cached, which keeps the cache from holding values older than the db.
+ */
+public class ReadCache {
+
+  private static final WrappedByteArray ABSENT = WrappedByteArray.of(null);
+  private static final Map<String, ReadCache> caches = new ConcurrentHashMap<>();
+
+  @Getter
+  private final String dbName;
+  private final Cache<WrappedByteArray, WrappedByteArray> cache;
+  private final LongAdder hitCount = new LongAdder();
+  private final LongAdder missCount = new LongAdder();
+  private volatile long version = 0;
+
+  public ReadCache(String dbName, long maxSize) {
+    this.dbName = dbName;
+    this.cache = CacheBuilder.newBuilder().maximumSize(maxSize).build();
+    caches.put(dbName, this);
+  }
+
+  public static Collection<ReadCache> getCaches() {
+    return caches.values();
+  }
+
+  public byte[] get(DB<byte[], byte[]> db, byte[] key) {
+    WrappedByteArray value = cache.getIfPresent(WrappedByteArray.of(key));
+    if (value != null) {
+      hitCount.increment();
+      return value == ABSENT ? null : Arrays.copyOf(value.getBytes(), value.getBytes().length);
+    }
+
+    missCount.increment();
+    long readVersion = version;
+    byte[] result = db.get(key);
+    synchronized (this) {
+      if (readVersion == version) {
+        cache.put(WrappedByteArray.copyOf(key), result == null ? ABSENT
+            : WrappedByteArray.copyOf(result));
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Write through the rows that were just written to the db, a null value means deleted.
+   */
+  public synchronized void update(Map<WrappedByteArray, WrappedByteArray> batch) {
+    ++version;
+    batch.forEach((k, v) -> cache.put(WrappedByteArray.copyOf(k.getBytes()),
+        v == null || v.getBytes() == null ? ABSENT : WrappedByteArray.copyOf(v.getBytes())));
+  }
+
+  public synchronized void update(byte[] key, byte[] value) {
+    ++version;
+    cache.put(WrappedByteArray.copyOf(key),
+        value == null ? ABSENT : WrappedByteArray.copyOf(value));
+  }
+
+  public synchronized void invalidateAll() {
+    ++version;
+    cache.invalidateAll();
+  }
+
+  public long size() {
+    return cache.size();
+  }
+
+  /**
+   * Hits since the last call, used to feed the node metrics.
+   */
+  public long takeHitCount() {
+    return hitCount.sumThenReset();
+  }
+
+  /**
+   * Misses since the last call, used to feed the node metrics.
+   */
+  public long takeMissCount() {
+    return missCount.sumThenReset();
+  }
+}
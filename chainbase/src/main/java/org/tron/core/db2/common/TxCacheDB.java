@@ -1,76 +1,168 @@
 package org.tron.core.db2.common;
 
-import com.google.common.collect.ArrayListMultimap;
-import com.google.common.collect.Iterators;
 import com.google.common.collect.Maps;
-import com.google.common.collect.Multimap;
 import com.google.common.primitives.Longs;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
-import java.util.Set;
-import java.util.WeakHashMap;
 import lombok.extern.slf4j.Slf4j;
 
+/**
+ * Transaction id to block number cache of the recent BLOCK_COUNT blocks.
+ *
+ * <p>Ids are kept in an open addressing table of primitive arrays, so lookups do not
+ * allocate. An entry is only live while its block number is inside the window of the
+ * latest BLOCK_COUNT blocks, so evicting a block is O(1): its slots simply stop being
+ * live and are reused by later puts or dropped by the next rehash. A ring of per-block
+ * counters keeps size() exact.
+ *
+ * <p>The live entries can be written to a checkpoint file and loaded back on restart, so
+ * only the blocks after the checkpoint need to be replayed.
+ */
 @Slf4j(topic = "DB")
 public class TxCacheDB implements DB<byte[], byte[]>, Flusher {
 
   // > 65_536(= 2^16) blocks, that is the number of the reference block
-  private final int BLOCK_COUNT = 70_000;
+  private static final int BLOCK_COUNT = 70_000;
+  // transaction id is a sha256 hash
+  private static final int ID_LENGTH = 32;
+  private static final int WORDS = ID_LENGTH / Long.BYTES;
+  private static final int INITIAL_CAPACITY = 1 << 16;
+  private static final float LOAD_FACTOR = 0.75f;
+  // slot was never used, ends a probe
+  private static final long EMPTY = Long.MIN_VALUE;
+  // slot was removed, can be reused but does not end a probe
+  private static final long REMOVED = -1;
+
+  private static final int CHECKPOINT_MAGIC = 0x54584344;
+  private static final int CHECKPOINT_VERSION = 1;
+  // magic, version, block number, entry count
+  private static final int CHECKPOINT_HEADER_LENGTH = 24;
+  private static final int CHECKPOINT_ENTRY_LENGTH = ID_LENGTH + Long.BYTES;
+  // slots scanned per hold of the lock, their entries fill one buffer of about 2.5 MB
+  private static final int CHECKPOINT_CHUNK_SLOTS = 1 << 16;
+  private static final int CHECKPOINT_ATTEMPTS = 3;
+
+  private long[] ids;
+  private long[] blockNums;
+  private int mask;
+  // slots which are not EMPTY, live or not
+  private int used;
+  // bumped when the table is rebuilt or an entry removed, a checkpoint restarts on a change
+  private long version;
+
+  private long[] ringBlockNums = new long[BLOCK_COUNT];
+  private int[] ringCounts = new int[BLOCK_COUNT];
+  private long maxBlockNum = -1;
+  private long size;
 
-  private Map<Key, Long> db = new WeakHashMap<>();
-  private Multimap<Long, Key> blockNumMap = ArrayListMultimap.create();
   private String name;
 
   public TxCacheDB(String name) {
     this.name = name;
+    init(INITIAL_CAPACITY);
+  }
+
+  private void init(int capacity) {
+    ids = new long[capacity * WORDS];
+    blockNums = new long[capacity];
+    Arrays.fill(blockNums, EMPTY);
+    mask = capacity - 1;
+    used = 0;
+    ++version;
   }
 
   @Override
-  public byte[] get(byte[] key) {
-    Long v = db.get(Key.of(key));
-    return v == null ? null : Longs.toByteArray(v);
+  public synchronized byte[] get(byte[] key) {
+    int slot = find(key);
+    return slot < 0 ? null : Longs.toByteArray(blockNums[slot]);
   }
 
   @Override
-  public void put(byte[] key, byte[] value) {
+  public synchronized void put(byte[] key, byte[] value) {
     if (key == null || value == null) {
       return;
     }
 
-    Key k = Key.copyOf(key);
-    Long v = Longs.fromByteArray(value);
-    blockNumMap.put(v, k);
-    db.put(k, v);
-    removeEldest();
+    checkKey(key);
+    put(key, Longs.fromByteArray(value));
   }
 
-  private void removeEldest() {
-    Set<Long> keys = blockNumMap.keySet();
-    if (keys.size() > BLOCK_COUNT) {
-      keys.stream()
-          .min(Long::compareTo)
-          .ifPresent(k -> {
-            blockNumMap.removeAll(k);
-            logger.debug("******removeEldest block number:{}, block count:{}", k, keys.size());
-          });
+  private void put(byte[] key, long blockNum) {
+    // transactions which are not in a block yet have a negative block number
+    if (blockNum < 0 || blockNum <= maxBlockNum - BLOCK_COUNT) {
+      return;
+    }
+    if (blockNum > maxBlockNum) {
+      advance(blockNum);
+    }
+
+    int reusable = -1;
+    int slot = index(key);
+    while (blockNums[slot] != EMPTY) {
+      if (isLive(blockNums[slot])) {
+        if (matches(key, slot)) {
+          decrement(blockNums[slot]);
+          blockNums[slot] = blockNum;
+          increment(blockNum);
+          return;
+        }
+      } else if (reusable < 0) {
+        reusable = slot;
+      }
+      slot = (slot + 1) & mask;
+    }
+
+    if (reusable < 0) {
+      reusable = slot;
+      ++used;
+    }
+    for (int i = 0; i < WORDS; i++) {
+      ids[reusable * WORDS + i] = word(key, i);
+    }
+    blockNums[reusable] = blockNum;
+    increment(blockNum);
+    ++size;
+
+    if (used > (mask + 1) * LOAD_FACTOR) {
+      rehash();
     }
   }
 
   @Override
-  public long size() {
-    return db.size();
+  public synchronized long size() {
+    return size;
   }
 
   @Override
-  public boolean isEmpty() {
-    return db.isEmpty();
+  public synchronized boolean isEmpty() {
+    return size == 0;
   }
 
   @Override
-  public void remove(byte[] key) {
-    if (key != null) {
-      db.remove(Key.of(key));
+  public synchronized void remove(byte[] key) {
+    if (key == null) {
+      return;
+    }
+
+    int slot = find(key);
+    if (slot >= 0) {
+      decrement(blockNums[slot]);
+      blockNums[slot] = REMOVED;
+      --size;
+      ++version;
     }
   }
 
@@ -80,31 +172,274 @@ public class TxCacheDB implements DB<byte[], byte[]>, Flusher {
   }
 
   @Override
-  public Iterator<Entry<byte[], byte[]>> iterator() {
-    return Iterators.transform(db.entrySet().iterator(),
-        e -> Maps.immutableEntry(e.getKey().getBytes(), Longs.toByteArray(e.getValue())));
+  public synchronized Iterator<Entry<byte[], byte[]>> iterator() {
+    List<Entry<byte[], byte[]>> entries = new ArrayList<>((int) size);
+    for (int slot = 0; slot <= mask; slot++) {
+      if (isLive(blockNums[slot])) {
+        byte[] key = new byte[ID_LENGTH];
+        for (int i = 0; i < WORDS; i++) {
+          System.arraycopy(Longs.toByteArray(ids[slot * WORDS + i]), 0, key, i * Long.BYTES,
+              Long.BYTES);
+        }
+        entries.add(Maps.immutableEntry(key, Longs.toByteArray(blockNums[slot])));
+      }
+    }
+    return entries.iterator();
   }
 
   @Override
-  public void flush(Map<WrappedByteArray, WrappedByteArray> batch) {
+  public synchronized void flush(Map<WrappedByteArray, WrappedByteArray> batch) {
     batch.forEach((k, v) -> this.put(k.getBytes(), v.getBytes()));
   }
 
   @Override
-  public void close() {
+  public synchronized void close() {
     reset();
-    db = null;
-    blockNumMap = null;
   }
 
   @Override
-  public void reset() {
-    db.clear();
-    blockNumMap.clear();
+  public synchronized void reset() {
+    init(INITIAL_CAPACITY);
+    Arrays.fill(ringCounts, 0);
+    maxBlockNum = -1;
+    size = 0;
+  }
+
+  /**
+   * Write the live entries to file, replacing it atomically.
+   *
+   * <p>The table is written in chunks of slots, taking the lock for one chunk at a time so
+   * puts and lookups are not held up by the whole scan. Only entries inside the window of the
+   * block number taken at the start are written. A later put either moves an entry past that
+   * block number, which the blocks after the checkpoint put again on load, or reuses a slot
+   * that fell out of the window. A rebuild or a removal restarts the scan.
+   *
+   * @return the block number the entries are complete up to
+   */
+  public long checkpoint(Path file) throws IOException {
+    Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+    ByteBuffer buffer = ByteBuffer.allocateDirect(
+        CHECKPOINT_CHUNK_SLOTS * CHECKPOINT_ENTRY_LENGTH);
+    for (int attempt = 0; attempt < CHECKPOINT_ATTEMPTS; attempt++) {
+      long blockNum = writeCheckpoint(tmp, buffer);
+      if (blockNum != Long.MIN_VALUE) {
+        Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING,
+            StandardCopyOption.ATOMIC_MOVE);
+        return blockNum;
+      }
+    }
+    Files.deleteIfExists(tmp);
+    throw new IOException("table kept changing, " + CHECKPOINT_ATTEMPTS + " attempts");
+  }
+
+  // Long.MIN_VALUE if the table changed during the scan
+  private long writeCheckpoint(Path tmp, ByteBuffer buffer) throws IOException {
+    long blockNum;
+    long startVersion;
+    synchronized (this) {
+      blockNum = maxBlockNum;
+      startVersion = version;
+    }
+
+    try (FileChannel channel = FileChannel.open(tmp, StandardOpenOption.CREATE,
+        StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+      // the header is written last, once the count is known
+      channel.position(CHECKPOINT_HEADER_LENGTH);
+      long count = 0;
+      for (int start = 0; ; start += CHECKPOINT_CHUNK_SLOTS) {
+        buffer.clear();
+        synchronized (this) {
+          if (version != startVersion) {
+            return Long.MIN_VALUE;
+          }
+          if (start > mask) {
+            break;
+          }
+          int end = Math.min(mask + 1, start + CHECKPOINT_CHUNK_SLOTS);
+          for (int slot = start; slot < end; slot++) {
+            long n = blockNums[slot];
+            if (n >= 0 && n > blockNum - BLOCK_COUNT && n <= blockNum) {
+              for (int i = 0; i < WORDS; i++) {
+                buffer.putLong(ids[slot * WORDS + i]);
+              }
+              buffer.putLong(n);
+              ++count;
+            }
+          }
+        }
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+          channel.write(buffer);
+        }
+      }
+
+      buffer.clear();
+      buffer.putInt(CHECKPOINT_MAGIC).putInt(CHECKPOINT_VERSION).putLong(blockNum)
+          .putLong(count);
+      buffer.flip();
+      long position = 0;
+      while (buffer.hasRemaining()) {
+        position += channel.write(buffer, position);
+      }
+      long length = CHECKPOINT_HEADER_LENGTH + count * CHECKPOINT_ENTRY_LENGTH;
+      if (channel.size() != length) {
+        throw new IOException("checkpoint length " + channel.size() + ", expected " + length);
+      }
+      channel.force(true);
+    }
+    return blockNum;
+  }
+
+  /**
+   * Load the entries of a checkpoint file written by {@link #checkpoint}. Nothing is loaded
+   * if the file is missing, broken, or newer than maxBlockNum.
+   *
+   * @return the block number the loaded entries are complete up to, -1 if nothing is loaded
+   */
+  public long loadCheckpoint(Path file, long maxBlockNum) throws IOException {
+    if (!Files.exists(file)) {
+      return -1;
+    }
+
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+      MappedByteBuffer buffer = channel.map(MapMode.READ_ONLY, 0, channel.size());
+      if (buffer.remaining() < CHECKPOINT_HEADER_LENGTH
+          || buffer.getInt() != CHECKPOINT_MAGIC
+          || buffer.getInt() != CHECKPOINT_VERSION) {
+        logger.warn("ignore broken checkpoint {}", file);
+        return -1;
+      }
+      long blockNum = buffer.getLong();
+      long count = buffer.getLong();
+      if (blockNum < 0 || blockNum > maxBlockNum
+          || buffer.remaining() != count * CHECKPOINT_ENTRY_LENGTH) {
+        logger.warn("ignore checkpoint {}, block number:{}, count:{}", file, blockNum, count);
+        return -1;
+      }
+
+      byte[] key = new byte[ID_LENGTH];
+      synchronized (this) {
+        for (long i = 0; i < count; i++) {
+          buffer.get(key);
+          put(key, buffer.getLong());
+        }
+      }
+      return blockNum;
+    }
   }
 
   @Override
   public TxCacheDB newInstance() {
     return new TxCacheDB(name);
   }
+
+  private int find(byte[] key) {
+    if (key == null || key.length != ID_LENGTH) {
+      return -1;
+    }
+
+    int slot = index(key);
+    while (blockNums[slot] != EMPTY) {
+      if (isLive(blockNums[slot]) && matches(key, slot)) {
+        return slot;
+      }
+      slot = (slot + 1) & mask;
+    }
+    return -1;
+  }
+
+  private boolean isLive(long blockNum) {
+    return blockNum >= 0 && blockNum > maxBlockNum - BLOCK_COUNT;
+  }
+
+  private boolean matches(byte[] key, int slot) {
+    for (int i = 0; i < WORDS; i++) {
+      if (ids[slot * WORDS + i] != word(key, i)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private int index(byte[] key) {
+    return hash(word(key, 0));
+  }
+
+  // ids are hashes already, mixing their first word is enough
+  private int hash(long firstWord) {
+    long h = firstWord ^ (firstWord >>> 32);
+    h ^= h >>> 16;
+    return (int) h & mask;
+  }
+
+  // evict the blocks falling out of the window, each block costs O(1)
+  private void advance(long blockNum) {
+    if (blockNum - maxBlockNum >= BLOCK_COUNT) {
+      Arrays.fill(ringCounts, 0);
+      size = 0;
+    } else {
+      for (long n = Math.max(0, maxBlockNum - BLOCK_COUNT + 1); n <= blockNum - BLOCK_COUNT;
+          n++) {
+        int ring = ringIndex(n);
+        if (ringBlockNums[ring] == n) {
+          size -= ringCounts[ring];
+          ringCounts[ring] = 0;
+        }
+      }
+    }
+    logger.debug("******advance block number:{}, trx count:{}", blockNum, size);
+    maxBlockNum = blockNum;
+  }
+
+  private void increment(long blockNum) {
+    int ring = ringIndex(blockNum);
+    if (ringBlockNums[ring] != blockNum) {
+      ringBlockNums[ring] = blockNum;
+      ringCounts[ring] = 0;
+    }
+    ++ringCounts[ring];
+  }
+
+  private void decrement(long blockNum) {
+    --ringCounts[ringIndex(blockNum)];
+  }
+
+  private int ringIndex(long blockNum) {
+    return (int) (blockNum % BLOCK_COUNT);
+  }
+
+  // copy the live entries only, sized so the table is at most half full afterwards
+  private void rehash() {
+    long[] oldIds = ids;
+    long[] oldBlockNums = blockNums;
+    int capacity = INITIAL_CAPACITY;
+    while (capacity * LOAD_FACTOR < size * 2) {
+      capacity <<= 1;
+    }
+
+    init(capacity);
+    for (int oldSlot = 0; oldSlot < oldBlockNums.length; oldSlot++) {
+      if (isLive(oldBlockNums[oldSlot])) {
+        int slot = hash(oldIds[oldSlot * WORDS]);
+        while (blockNums[slot] != EMPTY) {
+          slot = (slot + 1) & mask;
+        }
+        System.arraycopy(oldIds, oldSlot * WORDS, ids, slot * WORDS, WORDS);
+        blockNums[slot] = oldBlockNums[oldSlot];
+        ++used;
+      }
+    }
+  }
+
+  private static void checkKey(byte[] key) {
+    if (key.length != ID_LENGTH) {
+      throw new IllegalArgumentException("transaction id length must be " + ID_LENGTH);
+    }
+  }
+
+  private static long word(byte[] key, int i) {
+    int off = i * Long.BYTES;
+    return Longs.fromBytes(key[off], key[off + 1], key[off + 2], key[off + 3],
+        key[off + 4], key[off + 5], key[off + 6], key[off + 7]);
+  }
 }
@@ -7,13 +7,14 @@ import org.tron.core.db2.common.DB;
 
 public abstract class AbstractSnapshot<K, V> implements Snapshot {
 
+  // volatile, chainbase reads walk the snapshots without locks
   @Getter
-  protected DB<K, V> db;
+  protected volatile DB<K, V> db;
   @Getter
   @Setter
-  protected Snapshot previous;
+  protected volatile Snapshot previous;
 
-  protected WeakReference<Snapshot> next;
+  protected volatile WeakReference<Snapshot> next;
 
   @Override
   public Snapshot advance() {
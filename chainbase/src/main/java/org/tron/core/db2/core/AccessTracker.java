@@ -0,0 +1,100 @@
+package org.tron.core.db2.core;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import lombok.Getter;
+import org.tron.core.db2.common.WrappedByteArray;
+
+/**
+ * The keys the current thread reads and writes through {@link Chainbase}, per db, between
+ * {@link #start(boolean)} and {@link #stop()}. Tells whether a pending transaction read
+ * anything a block wrote since.
+ */
+public final class AccessTracker {
+
+  /**
+   * Recorded as the value of a key read through a cache of decoded values, whose bytes are not
+   * known.
+   */
+  public static final byte[] UNKNOWN = new byte[0];
+
+  private static final ThreadLocal<AccessTracker> current = new ThreadLocal<>();
+  // threads tracking right now, reads skip the thread local while there are none
+  private static final AtomicInteger tracking = new AtomicInteger();
+
+  private final boolean trackReads;
+  // the first value read of each key, null if the key did not exist
+  @Getter
+  private final Map<String, Map<WrappedByteArray, byte[]>> reads = new HashMap<>();
+  // dbs read through an iterator, which depend on every key of the db
+  @Getter
+  private final Set<String> scans = new HashSet<>();
+  @Getter
+  private final Map<String, Set<WrappedByteArray>> writes = new HashMap<>();
+
+  private AccessTracker(boolean trackReads) {
+    this.trackReads = trackReads;
+  }
+
+  /**
+   * Track the writes of the current thread, and its reads if trackReads, until {@link #stop()}.
+   */
+  public static void start(boolean trackReads) {
+    if (current.get() == null) {
+      tracking.incrementAndGet();
+    }
+    current.set(new AccessTracker(trackReads));
+  }
+
+  /**
+   * Stop tracking on the current thread.
+   *
+   * @return what was tracked since {@link #start(boolean)}, nothing if it was not called
+   */
+  public static AccessTracker stop() {
+    AccessTracker tracker = current.get();
+    if (tracker == null) {
+      return new AccessTracker(false);
+    }
+    current.remove();
+    tracking.decrementAndGet();
+    return tracker;
+  }
+
+  private static AccessTracker get() {
+    return tracking.get() == 0 ? null : current.get();
+  }
+
+  static void read(Chainbase db, byte[] key, byte[] value) {
+    AccessTracker tracker = get();
+    if (tracker == null || !tracker.trackReads || key == null) {
+      return;
+    }
+
+    Map<WrappedByteArray, byte[]> keys = tracker.reads
+        .computeIfAbsent(db.getDbName(), k -> new HashMap<>());
+    if (!keys.containsKey(WrappedByteArray.of(key))) {
+      keys.put(WrappedByteArray.copyOf(key),
+          value == null || value == UNKNOWN ? value : Arrays.copyOf(value, value.length));
+    }
+  }
+
+  static void scan(Chainbase db) {
+    AccessTracker tracker = get();
+    if (tracker != null && tracker.trackReads) {
+      tracker.scans.add(db.getDbName());
+    }
+  }
+
+  static void write(Chainbase db, byte[] key) {
+    AccessTracker tracker = get();
+    if (tracker != null && key != null) {
+      tracker.writes.computeIfAbsent(db.getDbName(), k -> new HashSet<>())
+          .add(WrappedByteArray.copyOf(key));
+    }
+  }
+}
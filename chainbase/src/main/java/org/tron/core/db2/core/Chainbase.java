@@ -8,9 +8,13 @@ import java.util.HashSet;
 import java.util.Iterator;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 import org.tron.common.utils.ByteUtil;
+import org.tron.core.db2.common.DB;
 import org.tron.core.db2.common.IRevokingDB;
+import org.tron.core.db2.common.Key;
 import org.tron.core.db2.common.LevelDB;
 import org.tron.core.db2.common.RocksDB;
 import org.tron.core.db2.common.Value;
@@ -29,7 +33,16 @@ public class Chainbase implements IRevokingDB {
   //true:fullnode, false:soliditynode
   private ThreadLocal<Cursor> cursor = new ThreadLocal<>();
   private ThreadLocal<Long> offset = new ThreadLocal<>();
-  private Snapshot head;
+  // writers publish a new head under the lock, readers pin it once and walk the snapshots
+  // below it without locking, so api reads do not wait for the block being applied
+  private volatile Snapshot head;
+  // decoded values as seen from the HEAD cursor, null unless enabled by the store. read
+  // without the lock, writers publish the new values before they invalidate entries
+  private volatile Map<WrappedByteArray, Object> decodedCache;
+  // bumped under the lock before entries are invalidated, see getDecoded
+  private volatile long decodedVersion;
+  // head changes which may have changed values without a put or delete
+  private long revertCount;
 
   public Chainbase(Snapshot head) {
     this.head = head;
@@ -53,40 +66,134 @@ public class Chainbase implements IRevokingDB {
   }
 
   private Snapshot head() {
-    if (cursor.get() == null) {
-      return head;
+    Snapshot pinned = head;
+    Cursor current = cursor.get();
+    if (current == null) {
+      return pinned;
     }
 
-    switch (cursor.get()) {
+    switch (current) {
       case HEAD:
-        return head;
+        return pinned;
       case SOLIDITY:
-        return head.getSolidity();
+        return pinned.getSolidity();
       case PBFT:
-        if (offset.get() == null) {
-          return head.getSolidity();
+        Long pbftOffset = offset.get();
+        if (pbftOffset == null) {
+          return pinned.getSolidity();
         }
 
-        if (offset.get() >= 0) {
-          Snapshot tmp = head;
-          for (int i = 0; i < offset.get() && tmp != tmp.getRoot(); i++) {
+        if (pbftOffset >= 0) {
+          Snapshot tmp = pinned;
+          for (int i = 0; i < pbftOffset && tmp != tmp.getRoot(); i++) {
             tmp = tmp.getPrevious();
           }
           return tmp;
         } else {
-          return head.getSolidity();
+          return pinned.getSolidity();
         }
       default:
-        return head;
+        return pinned;
     }
   }
 
-  public synchronized Snapshot getHead() {
+  public Snapshot getHead() {
     return head();
   }
 
   public synchronized void setHead(Snapshot head) {
+    Snapshot oldHead = this.head;
     this.head = head;
+    invalidate(oldHead, head);
+  }
+
+  /**
+   * The cursor of the current thread.
+   */
+  public Cursor getCursor() {
+    return cursor.get() == null ? Cursor.HEAD : cursor.get();
+  }
+
+  /**
+   * Count of the head changes that may have changed the visible values without a put or a
+   * delete, such as a retreat over a snapshot holding writes. Lets a store keep derived state
+   * in memory and only watch its own writes.
+   */
+  public synchronized long getRevertCount() {
+    return revertCount;
+  }
+
+  /**
+   * Keep decoded values of this db in memory, see {@link #getDecoded}.
+   */
+  public synchronized void enableDecodedCache() {
+    if (decodedCache == null) {
+      decodedCache = new ConcurrentHashMap<>();
+    }
+  }
+
+  /**
+   * Get the value of key decoded by decoder, reusing the last decoded value while the
+   * visible value of key is unchanged. Returns null if key does not exist.
+   *
+   * <p>Does not take the lock. A value decoded while a writer changed it may be cached after
+   * the writer invalidated the key, so the reader takes its entry back out when the version
+   * moved in the meantime.
+   */
+  @SuppressWarnings("unchecked")
+  public <T> T getDecoded(byte[] key, Function<byte[], T> decoder) {
+    Map<WrappedByteArray, Object> cache = decodedCache;
+    if (cache == null || (cursor.get() != null && cursor.get() != Cursor.HEAD)) {
+      byte[] value = getUnchecked(key);
+      return value == null ? null : decoder.apply(value);
+    }
+
+    Object decoded = cache.get(WrappedByteArray.of(key));
+    if (decoded != null) {
+      AccessTracker.read(this, key, AccessTracker.UNKNOWN);
+      return (T) decoded;
+    }
+
+    long version = decodedVersion;
+    byte[] value = getUnchecked(key);
+    if (value == null) {
+      return null;
+    }
+    decoded = decoder.apply(value);
+    WrappedByteArray k = WrappedByteArray.copyOf(key);
+    cache.put(k, decoded);
+    if (decodedVersion != version) {
+      cache.remove(k, decoded);
+    }
+    return (T) decoded;
+  }
+
+  // only a retreat changes the visible values, and only for the keys of the dropped snapshot.
+  // advance does not change them, anything else is unexpected, so drop everything.
+  private void invalidate(Snapshot oldHead, Snapshot newHead) {
+    if (newHead.getPrevious() == oldHead) {
+      return;
+    }
+
+    if (oldHead.getPrevious() == newHead && Snapshot.isImpl(oldHead)) {
+      DB<Key, Value> dropped = ((SnapshotImpl) oldHead).db;
+      if (!dropped.isEmpty()) {
+        ++revertCount;
+      }
+      if (decodedCache != null) {
+        ++decodedVersion;
+        for (Map.Entry<Key, Value> e : dropped) {
+          decodedCache.remove(WrappedByteArray.of(e.getKey().getBytes()));
+        }
+      }
+      return;
+    }
+
+    ++revertCount;
+    if (decodedCache != null) {
+      ++decodedVersion;
+      decodedCache.clear();
+    }
   }
 
   /**
@@ -99,23 +206,38 @@ public class Chainbase implements IRevokingDB {
 
   @Override
   public synchronized void reset() {
+    ++revertCount;
     head().reset();
     head().close();
     head = head.getRoot().newInstance();
+    if (decodedCache != null) {
+      ++decodedVersion;
+      decodedCache.clear();
+    }
   }
 
   @Override
   public synchronized void put(byte[] key, byte[] value) {
+    AccessTracker.write(this, key);
     head().put(key, value);
+    if (decodedCache != null) {
+      ++decodedVersion;
+      decodedCache.remove(WrappedByteArray.of(key));
+    }
   }
 
   @Override
   public synchronized void delete(byte[] key) {
+    AccessTracker.write(this, key);
     head().remove(key);
+    if (decodedCache != null) {
+      ++decodedVersion;
+      decodedCache.remove(WrappedByteArray.of(key));
+    }
   }
 
   @Override
-  public synchronized byte[] get(byte[] key) throws ItemNotFoundException {
+  public byte[] get(byte[] key) throws ItemNotFoundException {
     byte[] value = getUnchecked(key);
     if (value == null) {
       throw new ItemNotFoundException();
@@ -125,28 +247,32 @@ public class Chainbase implements IRevokingDB {
   }
 
   @Override
-  public synchronized byte[] getUnchecked(byte[] key) {
-    return head().get(key);
+  public byte[] getUnchecked(byte[] key) {
+    byte[] value = head().get(key);
+    AccessTracker.read(this, key, value);
+    return value;
   }
 
   @Override
-  public synchronized boolean has(byte[] key) {
+  public boolean has(byte[] key) {
     return getUnchecked(key) != null;
   }
 
   @Override
-  public synchronized Iterator<Map.Entry<byte[], byte[]>> iterator() {
+  public Iterator<Map.Entry<byte[], byte[]>> iterator() {
+    AccessTracker.scan(this);
     return head().iterator();
   }
 
   //for blockstore
   @Override
   public Set<byte[]> getlatestValues(long limit) {
+    AccessTracker.scan(this);
     return getlatestValues(head(), limit);
   }
 
   //for blockstore
-  private synchronized Set<byte[]> getlatestValues(Snapshot head, long limit) {
+  private Set<byte[]> getlatestValues(Snapshot head, long limit) {
     if (limit <= 0) {
       return Collections.emptySet();
     }
@@ -213,6 +339,7 @@ public class Chainbase implements IRevokingDB {
 
   @Override
   public Set<byte[]> getValuesNext(byte[] key, long limit) {
+    AccessTracker.scan(this);
     return getValuesNext(head(), key, limit);
   }
 }
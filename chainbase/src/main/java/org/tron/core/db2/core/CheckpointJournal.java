@@ -0,0 +1,264 @@
+package org.tron.core.db2.core;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.BiConsumer;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedOutputStream;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * The checkpoint of the layers being flushed, as an append-only journal of segment files.
+ *
+ * <p>Each flush writes one generation: its entries are appended in order to segments of at most
+ * segmentSize bytes, which are forced to disk once, then the older generations are deleted. A
+ * segment ends with a trailer holding the number of entries, whether it is the last segment of
+ * its generation and a CRC32 of the segment, so a torn write is detected and the previous
+ * generation is replayed instead.
+ */
+@Slf4j(topic = "DB")
+public class CheckpointJournal {
+
+  public static final long DEFAULT_SEGMENT_SIZE = 256L * 1024 * 1024;
+
+  private static final int MAGIC = 0x54434b50;
+  private static final int END = -1;
+  private static final Pattern SEGMENT_NAME = Pattern.compile("checkpoint-(\\d+)-(\\d+)\\.log");
+
+  private final File dir;
+  private final long segmentSize;
+  private long generation;
+
+  public CheckpointJournal(String dir) {
+    this(dir, DEFAULT_SEGMENT_SIZE);
+  }
+
+  public CheckpointJournal(String dir, long segmentSize) {
+    this.dir = new File(dir);
+    this.segmentSize = segmentSize;
+    if (!this.dir.exists() && !this.dir.mkdirs()) {
+      throw new IllegalStateException("can not create checkpoint dir " + dir);
+    }
+    TreeMap<Long, TreeMap<Integer, File>> generations = getGenerations();
+    generation = generations.isEmpty() ? 0 : generations.lastKey() + 1;
+  }
+
+  /**
+   * Start the next generation, it replaces the current one on {@link Writer#commit()}.
+   */
+  public Writer begin() throws IOException {
+    return new Writer(generation++);
+  }
+
+  /**
+   * Replay the entries of the newest complete generation in the order they were written.
+   *
+   * @return false if there is no complete generation
+   */
+  public boolean replay(BiConsumer<byte[], byte[]> consumer) throws IOException {
+    TreeMap<Long, TreeMap<Integer, File>> generations = getGenerations();
+    for (Long gen : generations.descendingKeySet()) {
+      List<MappedByteBuffer> segments = map(gen, generations.get(gen));
+      if (segments == null) {
+        logger.warn("Checkpoint generation {} is incomplete, skip it.", gen);
+        continue;
+      }
+
+      for (MappedByteBuffer segment : segments) {
+        segment.position(16);
+        for (int keyLength = segment.getInt(); keyLength != END; keyLength = segment.getInt()) {
+          byte[] key = new byte[keyLength];
+          segment.get(key);
+          byte[] value = new byte[segment.getInt()];
+          segment.get(value);
+          consumer.accept(key, value);
+        }
+      }
+      return true;
+    }
+    return false;
+  }
+
+  /**
+   * Delete every generation.
+   */
+  public void clear() {
+    getGenerations().values().forEach(parts -> parts.values().forEach(File::delete));
+  }
+
+  // the segments of a generation, or null if one is missing or torn
+  private List<MappedByteBuffer> map(long gen, TreeMap<Integer, File> parts) throws IOException {
+    List<MappedByteBuffer> segments = new ArrayList<>(parts.size());
+    int expected = 0;
+    for (Map.Entry<Integer, File> part : parts.entrySet()) {
+      if (part.getKey() != expected++) {
+        return null;
+      }
+      MappedByteBuffer segment = mapValid(part.getValue().toPath(), gen, part.getKey());
+      if (segment == null) {
+        return null;
+      }
+      segments.add(segment);
+    }
+
+    if (segments.isEmpty()) {
+      return null;
+    }
+    MappedByteBuffer last = segments.get(segments.size() - 1);
+    return last.get(last.limit() - 9) == 1 ? segments : null;
+  }
+
+  private MappedByteBuffer mapValid(Path path, long gen, int part) throws IOException {
+    try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+      long size = channel.size();
+      if (size < 16 + 4 + 4 + 1 + 8) {
+        return null;
+      }
+
+      MappedByteBuffer segment = channel.map(MapMode.READ_ONLY, 0, size);
+      if (segment.getInt() != MAGIC || segment.getLong() != gen || segment.getInt() != part) {
+        return null;
+      }
+
+      int bodyLength = (int) size - 8;
+      CRC32 crc = new CRC32();
+      byte[] chunk = new byte[64 * 1024];
+      segment.position(0);
+      while (segment.position() < bodyLength) {
+        int length = Math.min(chunk.length, bodyLength - segment.position());
+        segment.get(chunk, 0, length);
+        crc.update(chunk, 0, length);
+      }
+      return segment.getLong() == crc.getValue() ? segment : null;
+    } catch (BufferUnderflowException e) {
+      return null;
+    }
+  }
+
+  private TreeMap<Long, TreeMap<Integer, File>> getGenerations() {
+    TreeMap<Long, TreeMap<Integer, File>> generations = new TreeMap<>();
+    File[] files = dir.listFiles();
+    if (files == null) {
+      return generations;
+    }
+
+    for (File file : files) {
+      Matcher matcher = SEGMENT_NAME.matcher(file.getName());
+      if (matcher.matches()) {
+        generations.computeIfAbsent(Long.parseLong(matcher.group(1)), k -> new TreeMap<>())
+            .put(Integer.parseInt(matcher.group(2)), file);
+      }
+    }
+    return generations;
+  }
+
+  /**
+   * Appends the entries of one generation.
+   */
+  public class Writer {
+
+    private final long gen;
+    private final List<FileOutputStream> files = new ArrayList<>();
+    private FileOutputStream file;
+    private CRC32 crc;
+    private DataOutputStream out;
+    private int count;
+
+    private Writer(long gen) throws IOException {
+      this.gen = gen;
+      open();
+    }
+
+    public void append(byte[] key, byte[] value) throws IOException {
+      if (out.size() + 8L + key.length + value.length > segmentSize && count > 0) {
+        finish(false);
+        open();
+      }
+      out.writeInt(key.length);
+      out.write(key);
+      out.writeInt(value.length);
+      out.write(value);
+      ++count;
+    }
+
+    /**
+     * Force the generation to disk, then drop the older ones.
+     */
+    public void commit() throws IOException {
+      finish(true);
+      for (FileOutputStream f : files) {
+        f.getChannel().force(true);
+        f.close();
+      }
+      syncDir();
+
+      TreeMap<Long, TreeMap<Integer, File>> generations = getGenerations();
+      generations.headMap(gen).values()
+          .forEach(parts -> parts.values().forEach(File::delete));
+    }
+
+    /**
+     * Drop a generation which could not be written, the current one stays in place.
+     */
+    public void abort() {
+      for (FileOutputStream f : files) {
+        try {
+          f.close();
+        } catch (IOException e) {
+          logger.warn("close checkpoint segment: {}", e.getMessage());
+        }
+      }
+      TreeMap<Integer, File> parts = getGenerations().get(gen);
+      if (parts != null) {
+        parts.values().forEach(File::delete);
+      }
+    }
+
+    private void open() throws IOException {
+      file = new FileOutputStream(new File(dir,
+          String.format("checkpoint-%d-%d.log", gen, files.size())));
+      files.add(file);
+      crc = new CRC32();
+      out = new DataOutputStream(new CheckedOutputStream(new BufferedOutputStream(file), crc));
+      count = 0;
+      out.writeInt(MAGIC);
+      out.writeLong(gen);
+      out.writeInt(files.size() - 1);
+    }
+
+    private void finish(boolean last) throws IOException {
+      out.writeInt(END);
+      out.writeInt(count);
+      out.writeByte(last ? 1 : 0);
+      out.flush();
+      // the crc covers everything before it
+      DataOutputStream tail = new DataOutputStream(new BufferedOutputStream(file));
+      tail.writeLong(crc.getValue());
+      tail.flush();
+    }
+
+    private void syncDir() {
+      try (FileChannel channel = FileChannel.open(dir.toPath(), StandardOpenOption.READ)) {
+        channel.force(true);
+      } catch (IOException e) {
+        // not supported on every platform, the segments themselves are forced
+        logger.debug("sync checkpoint dir: {}", e.getMessage());
+      }
+    }
+  }
+}
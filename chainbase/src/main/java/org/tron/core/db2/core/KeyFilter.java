@@ -0,0 +1,64 @@
+package org.tron.core.db2.core;
+
+import com.google.common.hash.Hashing;
+
+/**
+ * Bloom filter over the keys written to one snapshot layer. A lookup hashes the key once with
+ * {@link #hash(byte[])} and then probes each layer with a few bit tests, so a key missing from
+ * most layers does not pay a map lookup in each of them.
+ *
+ * <p>Only the thread writing the layer adds keys. A reader racing with an add may not see the
+ * key yet, which reads the value as it was before the write.
+ */
+final class KeyFilter {
+
+  private static final int BITS_PER_KEY = 16;
+  private static final int HASHES = 3;
+  private static final int MIN_KEYS = 64;
+
+  private final long[] bits;
+  private final int mask;
+  private final int capacity;
+  private int count;
+
+  KeyFilter() {
+    this(MIN_KEYS);
+  }
+
+  KeyFilter(int expectedKeys) {
+    int size = Integer.highestOneBit(Math.max(MIN_KEYS, expectedKeys) * BITS_PER_KEY - 1) << 1;
+    bits = new long[size >>> 6];
+    mask = size - 1;
+    capacity = size / BITS_PER_KEY;
+  }
+
+  static long hash(byte[] key) {
+    return Hashing.murmur3_128().hashBytes(key).asLong();
+  }
+
+  /**
+   * @return false once more keys were added than the filter is sized for, the filter still
+   *     works but should be rebuilt larger
+   */
+  boolean add(long hash) {
+    int h1 = (int) hash;
+    int h2 = (int) (hash >>> 32);
+    for (int i = 0; i < HASHES; i++) {
+      int bit = (h1 + i * h2) & mask;
+      bits[bit >>> 6] |= 1L << bit;
+    }
+    return ++count <= capacity;
+  }
+
+  boolean mightContain(long hash) {
+    int h1 = (int) hash;
+    int h2 = (int) (hash >>> 32);
+    for (int i = 0; i < HASHES; i++) {
+      int bit = (h1 + i * h2) & mask;
+      if ((bits[bit >>> 6] & (1L << bit)) == 0) {
+        return false;
+      }
+    }
+    return true;
+  }
+}
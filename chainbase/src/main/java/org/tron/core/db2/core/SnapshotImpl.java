@@ -10,6 +10,7 @@ import java.util.Iterator;
 import java.util.Map;
 import java.util.Set;
 import lombok.Getter;
+import org.tron.core.db2.common.DB;
 import org.tron.core.db2.common.HashDB;
 import org.tron.core.db2.common.Key;
 import org.tron.core.db2.common.Value;
@@ -17,15 +18,23 @@ import org.tron.core.db2.common.WrappedByteArray;
 
 public class SnapshotImpl extends AbstractSnapshot<Key, Value> {
 
+  // most sessions write a few stores only, the layers of the others share these until their
+  // first write, they are never written themselves
+  private static final DB<Key, Value> EMPTY_DB = new HashDB(SnapshotImpl.class.getSimpleName());
+  private static final KeyFilter EMPTY_FILTER = new KeyFilter();
+
   @Getter
   protected Snapshot root;
 
+  // keys written to this layer, replaced by a larger one when it fills up
+  private volatile KeyFilter filter = EMPTY_FILTER;
+
   SnapshotImpl(Snapshot snapshot) {
     root = snapshot.getRoot();
     previous = snapshot;
     snapshot.setNext(this);
     synchronized (this) {
-      db = new HashDB(SnapshotImpl.class.getSimpleName());
+      db = EMPTY_DB;
     }
   }
 
@@ -39,21 +48,48 @@ public class SnapshotImpl extends AbstractSnapshot<Key, Value> {
     Preconditions.checkNotNull(key, "key in db is not null.");
     Preconditions.checkNotNull(value, "value in db is not null.");
 
+    allocate();
     db.put(Key.copyOf(key), Value.copyOf(Value.Operator.PUT, value));
+    index(key);
   }
 
   @Override
   public void remove(byte[] key) {
     Preconditions.checkNotNull(key, "key in db is not null.");
+    allocate();
     db.put(Key.of(key), Value.of(Value.Operator.DELETE, null));
+    index(key);
+  }
+
+  private synchronized void allocate() {
+    if (db == EMPTY_DB) {
+      db = new HashDB(SnapshotImpl.class.getSimpleName());
+      filter = new KeyFilter();
+    }
+  }
+
+  private void index(byte[] key) {
+    if (!filter.add(KeyFilter.hash(key))) {
+      KeyFilter larger = new KeyFilter((int) db.size() * 2);
+      Streams.stream(db).forEach(e -> larger.add(KeyFilter.hash(e.getKey().getBytes())));
+      filter = larger;
+    }
   }
 
   private byte[] get(Snapshot head, byte[] key) {
     Snapshot snapshot = head;
+    long hash = KeyFilter.hash(key);
+    Key wrapped = null;
     Value value;
     while (Snapshot.isImpl(snapshot)) {
-      if ((value = ((SnapshotImpl) snapshot).db.get(Key.of(key))) != null) {
-        return value.getBytes();
+      SnapshotImpl impl = (SnapshotImpl) snapshot;
+      if (impl.filter.mightContain(hash)) {
+        if (wrapped == null) {
+          wrapped = Key.of(key);
+        }
+        if ((value = impl.db.get(wrapped)) != null) {
+          return value.getBytes();
+        }
       }
 
       snapshot = snapshot.getPrevious();
@@ -77,7 +113,15 @@ public class SnapshotImpl extends AbstractSnapshot<Key, Value> {
   @Override
   public void merge(Snapshot from) {
     SnapshotImpl fromImpl = (SnapshotImpl) from;
-    Streams.stream(fromImpl.db).forEach(e -> db.put(e.getKey(), e.getValue()));
+    if (fromImpl.db.isEmpty()) {
+      return;
+    }
+
+    allocate();
+    Streams.stream(fromImpl.db).forEach(e -> {
+      db.put(e.getKey(), e.getValue());
+      index(e.getKey().getBytes());
+    });
   }
 
   @Override
@@ -7,6 +7,9 @@ import com.google.common.util.concurrent.Futures;
 import com.google.common.util.concurrent.ListenableFuture;
 import com.google.common.util.concurrent.ListeningExecutorService;
 import com.google.common.util.concurrent.MoreExecutors;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import java.io.IOException;
+import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
@@ -22,7 +25,6 @@ import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.tron.common.parameter.CommonParameter;
-import org.tron.common.storage.WriteOptionsWrapper;
 import org.tron.core.db.RevokingDatabase;
 import org.tron.core.db2.ISession;
 import org.tron.core.db2.common.DB;
@@ -57,6 +59,17 @@ public class SnapshotManager implements RevokingDatabase {
 
   private Map<String, ListeningExecutorService> flushServices = new HashMap<>();
 
+  // hand solidified layers to a background flusher instead of flushing on the block path
+  @Setter
+  private boolean asyncFlush;
+
+  private ListeningExecutorService asyncFlushService;
+
+  // the running background flush and its layers, which stay linked until it is completed
+  private ListenableFuture<Boolean> flushing;
+  private Map<Chainbase, List<Snapshot>> flushingLayers;
+  private int flushingCount;
+
   @Autowired
   @Setter
   @Getter
@@ -65,7 +78,15 @@ public class SnapshotManager implements RevokingDatabase {
   @Setter
   private volatile int maxFlushCount = DEFAULT_MIN_FLUSH_COUNT;
 
+  private CheckpointJournal checkpointJournal;
+
   public SnapshotManager(String checkpointPath) {
+    String dbDirectory = CommonParameter.getInstance().getStorage() == null ? ""
+        : CommonParameter.getInstance().getStorage().getDbDirectory();
+    checkpointJournal = new CheckpointJournal(
+        Paths.get(checkpointPath, dbDirectory, "checkpoint").toString());
+    asyncFlush = CommonParameter.getInstance().getStorage() != null
+        && CommonParameter.getInstance().getStorage().isAsyncFlush();
   }
 
   public static String simpleDecode(byte[] bytes) {
@@ -223,6 +244,9 @@ public class SnapshotManager implements RevokingDatabase {
   public void shutdown() {
     System.err.println("******** begin to pop revokingDb ********");
     System.err.println("******** before revokingDb size:" + size);
+    synchronized (this) {
+      completeFlush(true);
+    }
     checkTmpStore.close();
     System.err.println("******** end to pop revokingDb ********");
   }
@@ -239,43 +263,120 @@ public class SnapshotManager implements RevokingDatabase {
     return flushCount >= maxFlushCount;
   }
 
-  private void refresh() {
-    List<ListenableFuture<?>> futures = new ArrayList<>(dbs.size());
+  /**
+   * The count oldest layers above the root of each db.
+   */
+  private Map<Chainbase, List<Snapshot>> getFlushLayers(int count) {
+    Map<Chainbase, List<Snapshot>> layers = new HashMap<>();
+    if (count <= 0) {
+      return layers;
+    }
     for (Chainbase db : dbs) {
-      futures.add(flushServices.get(db.getDbName()).submit(() -> refreshOne(db)));
+      if (Snapshot.isRoot(db.getHead())) {
+        continue;
+      }
+
+      List<Snapshot> snapshots = new ArrayList<>(count);
+      Snapshot next = db.getHead().getRoot();
+      for (int i = 0; i < count; ++i) {
+        next = next.getNext();
+        snapshots.add(next);
+      }
+      layers.put(db, snapshots);
+    }
+    return layers;
+  }
+
+  /**
+   * Merge the layers into the root of each db.
+   *
+   * @return whether all dbs were merged
+   */
+  private boolean refresh(Map<Chainbase, List<Snapshot>> layers) {
+    List<ListenableFuture<?>> futures = new ArrayList<>(layers.size());
+    for (Map.Entry<Chainbase, List<Snapshot>> e : layers.entrySet()) {
+      futures.add(flushServices.get(e.getKey().getDbName())
+          .submit(() -> refreshOne(e.getValue())));
     }
     Future<?> future = Futures.allAsList(futures);
     try {
       future.get();
+      return true;
     } catch (InterruptedException e) {
       Thread.currentThread().interrupt();
     } catch (ExecutionException e) {
       logger.error(e.getMessage(), e);
     }
+    return false;
   }
 
-  private void refreshOne(Chainbase db) {
-    if (Snapshot.isRoot(db.getHead())) {
-      return;
+  private void refreshOne(List<Snapshot> snapshots) {
+    ((SnapshotRoot) snapshots.get(0).getRoot()).merge(snapshots);
+  }
+
+  /**
+   * Take the layers merged into the root out of the chain, reads go to the root from now on.
+   */
+  private void unlink(Map<Chainbase, List<Snapshot>> layers) {
+    for (Map.Entry<Chainbase, List<Snapshot>> e : layers.entrySet()) {
+      Chainbase db = e.getKey();
+      List<Snapshot> snapshots = e.getValue();
+      SnapshotRoot root = (SnapshotRoot) snapshots.get(0).getRoot();
+      Snapshot last = snapshots.get(snapshots.size() - 1);
+
+      if (snapshots.contains(root.getSolidity())) {
+        root.resetSolidity();
+      }
+      if (db.getHead() == last) {
+        db.setHead(root);
+      } else {
+        last.getNext().setPrevious(root);
+        root.setNext(last.getNext());
+      }
     }
+  }
 
-    List<Snapshot> snapshots = new ArrayList<>();
+  /**
+   * Writes held by the newest snapshot of each db, a null value means deleted. Dbs without
+   * writes in their newest snapshot are left out.
+   */
+  public Map<String, Map<WrappedByteArray, WrappedByteArray>> getHeadWrites() {
+    Map<String, Map<WrappedByteArray, WrappedByteArray>> writes = new HashMap<>();
+    for (Chainbase db : dbs) {
+      Snapshot head = db.getHead();
+      if (!Snapshot.isImpl(head)) {
+        continue;
+      }
 
-    SnapshotRoot root = (SnapshotRoot) db.getHead().getRoot();
-    Snapshot next = root;
-    for (int i = 0; i < flushCount; ++i) {
-      next = next.getNext();
-      snapshots.add(next);
+      Map<WrappedByteArray, WrappedByteArray> batch = new HashMap<>();
+      for (Map.Entry<Key, Value> e : ((SnapshotImpl) head).getDb()) {
+        batch.put(WrappedByteArray.of(e.getKey().getBytes()),
+            WrappedByteArray.of(e.getValue().getBytes()));
+      }
+      if (!batch.isEmpty()) {
+        writes.put(db.getDbName(), batch);
+      }
     }
+    return writes;
+  }
 
-    root.merge(snapshots);
+  /**
+   * Write the result of {@link #getHeadWrites()} into the newest snapshot of each db again.
+   */
+  public void applyWrites(Map<String, Map<WrappedByteArray, WrappedByteArray>> writes) {
+    for (Chainbase db : dbs) {
+      Map<WrappedByteArray, WrappedByteArray> batch = writes.get(db.getDbName());
+      if (batch == null) {
+        continue;
+      }
 
-    root.resetSolidity();
-    if (db.getHead() == next) {
-      db.setHead(root);
-    } else {
-      next.getNext().setPrevious(root);
-      root.setNext(next.getNext());
+      batch.forEach((k, v) -> {
+        if (v.getBytes() == null) {
+          db.delete(k.getBytes());
+        } else {
+          db.put(k.getBytes(), v.getBytes());
+        }
+      });
     }
   }
 
@@ -284,12 +385,23 @@ public class SnapshotManager implements RevokingDatabase {
       return;
     }
 
+    completeFlush(false);
     if (shouldBeRefreshed()) {
+      // a merge of the head touches the layer below it, keep it off the layers being flushed
+      if (asyncFlush && size >= 2) {
+        if (flushing == null) {
+          flushAsync();
+        }
+        return;
+      }
+
+      completeFlush(true);
       long start = System.currentTimeMillis();
-      deleteCheckpoint();
-      createCheckpoint();
+      Map<Chainbase, List<Snapshot>> layers = getFlushLayers(flushCount);
+      createCheckpoint(layers);
       long checkPointEnd = System.currentTimeMillis();
-      refresh();
+      refresh(layers);
+      unlink(layers);
       flushCount = 0;
       logger.info("flush cost:{}, create checkpoint cost:{}, refresh cost:{}",
           System.currentTimeMillis() - start,
@@ -299,36 +411,102 @@ public class SnapshotManager implements RevokingDatabase {
     }
   }
 
-  private void createCheckpoint() {
-    Map<WrappedByteArray, WrappedByteArray> batch = new HashMap<>();
-    for (Chainbase db : dbs) {
-      Snapshot head = db.getHead();
-      if (Snapshot.isRoot(head)) {
-        return;
+  /**
+   * Flush the solidified layers in the background while blocks are applied on top of them.
+   * Reads keep resolving through the layers until {@link #completeFlush(boolean)} sees the
+   * flush done and unlinks them, layers added meanwhile are counted again from zero.
+   */
+  private void flushAsync() {
+    flushingCount = flushCount;
+    flushingLayers = getFlushLayers(flushingCount);
+    flushCount = 0;
+    if (asyncFlushService == null) {
+      asyncFlushService = MoreExecutors.listeningDecorator(Executors.newSingleThreadExecutor(
+          new ThreadFactoryBuilder().setNameFormat("snapshot-flush-%d").setDaemon(true).build()));
+    }
+
+    Map<Chainbase, List<Snapshot>> layers = flushingLayers;
+    int count = flushingCount;
+    flushing = asyncFlushService.submit(() -> {
+      try {
+        long start = System.currentTimeMillis();
+        createCheckpoint(layers);
+        long checkPointEnd = System.currentTimeMillis();
+        if (!refresh(layers)) {
+          return false;
+        }
+        logger.info("async flush cost:{}, create checkpoint cost:{}, refresh cost:{}, layers:{}",
+            System.currentTimeMillis() - start,
+            checkPointEnd - start,
+            System.currentTimeMillis() - checkPointEnd,
+            count
+        );
+        return true;
+      } catch (Exception e) {
+        logger.error("async flush failed, the layers will be flushed again.", e);
+        return false;
       }
+    });
+  }
 
-      String dbName = db.getDbName();
-      Snapshot next = head.getRoot();
-      for (int i = 0; i < flushCount; ++i) {
-        next = next.getNext();
-        SnapshotImpl snapshot = (SnapshotImpl) next;
-        DB<Key, Value> keyValueDB = snapshot.getDb();
-        for (Map.Entry<Key, Value> e : keyValueDB) {
-          Key k = e.getKey();
-          Value v = e.getValue();
-          batch.put(WrappedByteArray.of(Bytes.concat(simpleEncode(dbName), k.getBytes())),
-              WrappedByteArray.of(v.encode()));
+  /**
+   * Unlink the layers of a finished background flush, or count them for the next flush if it
+   * failed.
+   *
+   * @param wait whether to wait for a running flush
+   */
+  private void completeFlush(boolean wait) {
+    if (flushing == null || (!wait && !flushing.isDone())) {
+      return;
+    }
+
+    boolean flushed = false;
+    try {
+      flushed = flushing.get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    } catch (ExecutionException e) {
+      logger.error(e.getMessage(), e);
+    }
+
+    if (flushed) {
+      unlink(flushingLayers);
+    } else {
+      flushCount += flushingCount;
+    }
+    flushing = null;
+    flushingLayers = null;
+    flushingCount = 0;
+  }
+
+  /**
+   * Journal the layers before they are merged into the roots, so a merge interrupted by a
+   * crash is redone by {@link #check()}. The entries are appended in layer order, replaying
+   * them in order leaves the newest value of each key.
+   */
+  private void createCheckpoint(Map<Chainbase, List<Snapshot>> layers) {
+    CheckpointJournal.Writer writer = null;
+    try {
+      writer = checkpointJournal.begin();
+      for (Map.Entry<Chainbase, List<Snapshot>> layer : layers.entrySet()) {
+        byte[] dbName = simpleEncode(layer.getKey().getDbName());
+        for (Snapshot next : layer.getValue()) {
+          DB<Key, Value> keyValueDB = ((SnapshotImpl) next).getDb();
+          for (Map.Entry<Key, Value> e : keyValueDB) {
+            writer.append(Bytes.concat(dbName, e.getKey().getBytes()), e.getValue().encode());
+          }
         }
       }
+      writer.commit();
+    } catch (IOException e) {
+      if (writer != null) {
+        writer.abort();
+      }
+      throw new RevokingStoreIllegalStateException(e);
     }
-
-    checkTmpStore.getDbSource().updateByBatch(batch.entrySet().stream()
-            .map(e -> Maps.immutableEntry(e.getKey().getBytes(), e.getValue().getBytes()))
-            .collect(HashMap::new, (m, k) -> m.put(k.getKey(), k.getValue()), HashMap::putAll),
-        WriteOptionsWrapper.getInstance().sync(CommonParameter
-            .getInstance().getStorage().isDbSync()));
   }
 
+  // only for a checkpoint left in the tmp db by an older version
   private void deleteCheckpoint() {
     Map<byte[], byte[]> hmap = new HashMap<byte[], byte[]>();
     if (!checkTmpStore.getDbSource().allKeys().isEmpty()) {
@@ -349,36 +527,49 @@ public class SnapshotManager implements RevokingDatabase {
       }
     }
 
-    if (!checkTmpStore.getDbSource().allKeys().isEmpty()) {
-      Map<String, Chainbase> dbMap = dbs.stream()
-          .map(db -> Maps.immutableEntry(db.getDbName(), db))
-          .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
-      advance();
-      for (Map.Entry<byte[], byte[]> e : checkTmpStore.getDbSource()) {
-        byte[] key = e.getKey();
-        byte[] value = e.getValue();
-        String db = simpleDecode(key);
-        if (dbMap.get(db) == null) {
-          continue;
-        }
-        byte[] realKey = Arrays.copyOfRange(key, db.getBytes().length + 4, key.length);
-
-        byte[] realValue = value.length == 1 ? null : Arrays.copyOfRange(value, 1, value.length);
-        if (realValue != null) {
-          dbMap.get(db).getHead().put(realKey, realValue);
-        } else {
-          dbMap.get(db).getHead().remove(realKey);
-        }
+    Map<String, Chainbase> dbMap = dbs.stream()
+        .map(db -> Maps.immutableEntry(db.getDbName(), db))
+        .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
+    advance();
+    boolean replayed;
+    try {
+      replayed = checkpointJournal.replay((key, value) -> replayCheckpoint(dbMap, key, value));
+    } catch (IOException e) {
+      throw new RevokingStoreIllegalStateException(e);
+    }
 
+    boolean legacy = false;
+    if (!replayed && !checkTmpStore.getDbSource().allKeys().isEmpty()) {
+      for (Map.Entry<byte[], byte[]> e : checkTmpStore.getDbSource()) {
+        replayCheckpoint(dbMap, e.getKey(), e.getValue());
       }
+      legacy = true;
+    }
 
-      dbs.forEach(db -> db.getHead().getRoot().merge(db.getHead()));
-      retreat();
+    dbs.forEach(db -> db.getHead().getRoot().merge(db.getHead()));
+    retreat();
+    if (legacy) {
+      deleteCheckpoint();
     }
 
     unChecked = false;
   }
 
+  private void replayCheckpoint(Map<String, Chainbase> dbMap, byte[] key, byte[] value) {
+    String db = simpleDecode(key);
+    if (dbMap.get(db) == null) {
+      return;
+    }
+    byte[] realKey = Arrays.copyOfRange(key, db.getBytes().length + 4, key.length);
+
+    byte[] realValue = value.length == 1 ? null : Arrays.copyOfRange(value, 1, value.length);
+    if (realValue != null) {
+      dbMap.get(db).getHead().put(realKey, realValue);
+    } else {
+      dbMap.get(db).getHead().remove(realKey);
+    }
+  }
+
   private byte[] simpleEncode(String s) {
     byte[] bytes = s.getBytes();
     byte[] length = Ints.toByteArray(bytes.length);
@@ -8,43 +8,66 @@ import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
 import lombok.Getter;
+import org.tron.common.parameter.CommonParameter;
 import org.tron.core.db2.common.DB;
 import org.tron.core.db2.common.Flusher;
+import org.tron.core.db2.common.ReadCache;
 import org.tron.core.db2.common.WrappedByteArray;
 
 public class SnapshotRoot extends AbstractSnapshot<byte[], byte[]> {
 
   @Getter
-  private Snapshot solidity;
+  private volatile Snapshot solidity;
+  // null when no read cache is configured for this db
+  @Getter
+  private ReadCache readCache;
 
   public SnapshotRoot(DB<byte[], byte[]> db) {
     this.db = db;
     solidity = this;
+    long cacheSize = CommonParameter.getInstance().getStorage() == null ? 0
+        : CommonParameter.getInstance().getStorage().getReadCacheSize(db.getDbName());
+    if (cacheSize > 0) {
+      readCache = new ReadCache(db.getDbName(), cacheSize);
+    }
   }
 
   @Override
   public byte[] get(byte[] key) {
+    if (readCache != null) {
+      return readCache.get(db, key);
+    }
     return db.get(key);
   }
 
   @Override
   public void put(byte[] key, byte[] value) {
     db.put(key, value);
+    if (readCache != null) {
+      readCache.update(key, value);
+    }
   }
 
   @Override
   public void remove(byte[] key) {
     db.remove(key);
+    if (readCache != null) {
+      readCache.update(key, null);
+    }
   }
 
   @Override
   public void merge(Snapshot from) {
     SnapshotImpl snapshot = (SnapshotImpl) from;
+    if (snapshot.db.isEmpty()) {
+      return;
+    }
+
     Map<WrappedByteArray, WrappedByteArray> batch = Streams.stream(snapshot.db)
         .map(e -> Maps.immutableEntry(WrappedByteArray.of(e.getKey().getBytes()),
             WrappedByteArray.of(e.getValue().getBytes())))
         .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
-    ((Flusher) db).flush(batch);
+    flush(batch);
   }
 
   public void merge(List<Snapshot> snapshots) {
@@ -57,7 +80,16 @@ public class SnapshotRoot extends AbstractSnapshot<byte[], byte[]> {
           .forEach(e -> batch.put(e.getKey(), e.getValue()));
     }
 
+    if (!batch.isEmpty()) {
+      flush(batch);
+    }
+  }
+
+  private void flush(Map<WrappedByteArray, WrappedByteArray> batch) {
     ((Flusher) db).flush(batch);
+    if (readCache != null) {
+      readCache.update(batch);
+    }
   }
 
   @Override
@@ -78,11 +110,17 @@ public class SnapshotRoot extends AbstractSnapshot<byte[], byte[]> {
   @Override
   public void close() {
     ((Flusher) db).close();
+    if (readCache != null) {
+      readCache.invalidateAll();
+    }
   }
 
   @Override
   public void reset() {
     ((Flusher) db).reset();
+    if (readCache != null) {
+      readCache.invalidateAll();
+    }
   }
 
   @Override
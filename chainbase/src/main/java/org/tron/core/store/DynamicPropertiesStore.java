@@ -16,6 +16,7 @@ import org.tron.core.capsule.BytesCapsule;
 import org.tron.core.config.Parameter;
 import org.tron.core.config.Parameter.ChainConstant;
 import org.tron.core.db.TronStoreWithRevoking;
+import org.tron.core.db2.core.Chainbase;
 
 @Slf4j(topic = "DB")
 @Component
@@ -138,6 +139,9 @@ public class DynamicPropertiesStore extends TronStoreWithRevoking<BytesCapsule>
   @Autowired
   private DynamicPropertiesStore(@Value("properties") String dbName) {
     super(dbName);
+    if (revokingDB instanceof Chainbase) {
+      ((Chainbase) revokingDB).enableDecodedCache();
+    }
 
     try {
       this.getTotalSignNum();
@@ -653,9 +657,7 @@ public class DynamicPropertiesStore extends TronStoreWithRevoking<BytesCapsule>
   }
 
   public long getTokenIdNum() {
-    return Optional.ofNullable(getUnchecked(TOKEN_ID_NUM))
-        .map(BytesCapsule::getData)
-        .map(ByteArray::toLong)
+    return Optional.ofNullable(getLong(TOKEN_ID_NUM))
         .orElseThrow(
             () -> new IllegalArgumentException("not found TOKEN_ID_NUM"));
   }
@@ -666,9 +668,7 @@ public class DynamicPropertiesStore extends TronStoreWithRevoking<BytesCapsule>
   }
 
   public long getTokenUpdateDone() {
-    return Optional.ofNullable(getUnchecked(TOKEN_UPDATE_DONE))
-        .map(BytesCapsule::getData)
-        .map(ByteArray::toLong)
+    return Optional.ofNullable(getLong(TOKEN_UPDATE_DONE))
         .orElseThrow(
             () -> new IllegalArgumentException("not found TOKEN_UPDATE_DONE"));
   }
@@ -680,9 +680,7 @@ public class DynamicPropertiesStore extends TronStoreWithRevoking<BytesCapsule>
   }
 
   public int getBlockFilledSlotsIndex() {
-    return Optional.ofNullable(getUnchecked(BLOCK_FILLED_SLOTS_INDEX))
-        .map(BytesCapsule::getData)
-        .map(ByteArray::toInt)
+    return Optional.ofNullable(getInt(BLOCK_FILLED_SLOTS_INDEX))
         .orElseThrow(
             () -> new IllegalArgumentException("not found BLOCK_FILLED_SLOTS_INDEX"));
   }
@@ -694,9 +692,7 @@ public class DynamicPropertiesStore extends TronStoreWithRevoking<BytesCapsule>
   }
 
   public int getMaxFrozenTime() {
-    return Optional.ofNullable(getUnchecked(MAX_FROZEN_TIME))
-        .map(BytesCapsule::getData)
-        .map(ByteArray::toInt)
+    return Optional.ofNullable(getInt(MAX_FROZEN_TIME))
         .orElseThrow(
             () -> new IllegalArgumentException("not found MAX_FROZEN_TIME"));
   }
@@ -708,9 +704,7 @@ public class DynamicPropertiesStore extends TronStoreWithRevoking<BytesCapsule>
   }
 
   public int getMinFrozenTime() {
-    return Optional.ofNullable(getUnchecked(MIN_FROZEN_TIME))
-        .map(BytesCapsule::getData)
-        .map(ByteArray::toInt)
+    return Optional.ofNullable(getInt(MIN_FROZEN_TIME))
         .orElseThrow(
             () -> new IllegalArgumentException("not found MIN_FROZEN_TIME"));
   }
@@ -722,9 +716,7 @@ public class DynamicPropertiesStore extends TronStoreWithRevoking<BytesCapsule>
   }
 
   public int getMaxFrozenSupplyNumber() {
-    return Optional.ofNullable(getUnchecked(MAX_FROZEN_SUPPLY_NUMBER))
-        .map(BytesCapsule::getData)
-        .map(ByteArray::toInt)
+    return Optional.ofNullable(getInt(MAX_FROZEN_SUPPLY_NUMBER))
         .orElseThrow(
             () -> new IllegalArgumentException("not found MAX_FROZEN_SUPPLY_NUMBER"));
   }
@@ -736,9 +728,7 @@ public class DynamicPropertiesStore extends TronStoreWithRevoking<BytesCapsule>
   }
 
   public int getMaxFrozenSupplyTime() {
-    return Optional.ofNullable(getUnchecked(MAX_FROZEN_SUPPLY_TIME))
-        .map(BytesCapsule::getData)
-        .map(ByteArray::toInt)
+    return Optional.ofNullable(getInt(MAX_FROZEN_SUPPLY_TIME))
         .orElseThrow(
             () -> new IllegalArgumentException("not found MAX_FROZEN_SUPPLY_TIME"));
   }
@@ -750,9 +740,7 @@ public class DynamicPropertiesStore extends TronStoreWithRevoking<BytesCapsule>
   }
 
   public int getMinFrozenSupplyTime() {
-    return Optional.ofNullable(getUnchecked(MIN_FROZEN_SUPPLY_TIME))
-        .map(BytesCapsule::getData)
-        .map(ByteArray::toInt)
+    return Optional.ofNullable(getInt(MIN_FROZEN_SUPPLY_TIME))
         .orElseThrow(
             () -> new IllegalArgumentException("not found MIN_FROZEN_SUPPLY_TIME"));
   }
@@ -764,9 +752,7 @@ public class DynamicPropertiesStore extends TronStoreWithRevoking<BytesCapsule>
   }
 
   public int getWitnessAllowanceFrozenTime() {
-    return Optional.ofNullable(getUnchecked(WITNESS_ALLOWANCE_FROZEN_TIME))
-        .map(BytesCapsule::getData)
-        .map(ByteArray::toInt)
+    return Optional.ofNullable(getInt(WITNESS_ALLOWANCE_FROZEN_TIME))
         .orElseThrow(
             () -> new IllegalArgumentException("not found WITNESS_ALLOWANCE_FROZEN_TIME"));
   }
@@ -778,9 +764,7 @@ public class DynamicPropertiesStore extends TronStoreWithRevoking<BytesCapsule>
   }
 
   public long getMaintenanceTimeInterval() {
-    return Optional.ofNullable(getUnchecked(MAINTENANCE_TIME_INTERVAL))
-        .map(BytesCapsule::getData)
-        .map(ByteArray::toLong)
+    return Optional.ofNullable(getLong(MAINTENANCE_TIME_INTERVAL))
         .orElseThrow(
             () -> new IllegalArgumentException("not found MAINTENANCE_TIME_INTERVAL"));
   }
@@ -792,9 +776,7 @@ public class DynamicPropertiesStore extends TronStoreWithRevoking<BytesCapsule>
   }
 
   public long getAccountUpgradeCost() {
-    return Optional.ofNullable(getUnchecked(ACCOUNT_UPGRADE_COST))
-        .map(BytesCapsule::getData)
-        .map(ByteArray::toLong)
+    return Optional.ofNullable(getLong(ACCOUNT_UPGRADE_COST))
         .orElseThrow(
             () -> new IllegalArgumentException("not found ACCOUNT_UPGRADE_COST"));
   }
@@ -806,9 +788,7 @@ public class DynamicPropertiesStore extends TronStoreWithRevoking<BytesCapsule>
   }
 
   public long getWitnessPayPerBlock() {
-    return Optional.ofNullable(getUnchecked(WITNESS_PAY_PER_BLOCK))
-        .map(BytesCapsule::getData)
-        .map(ByteArray::toLong)
+    return Optional.ofNullable(getLong(WITNESS_PAY_PER_BLOCK))
         .orElseThrow(
             () -> new IllegalArgumentException("not found WITNESS_PAY_PER_BLOCK"));
   }
@@ -820,9 +800,7 @@ public class DynamicPropertiesStore extends TronStoreWithRevoking<BytesCapsule>
   }
 
   public long getWitness127PayPerBlock() {
-    return Optional.ofNullable(getUnchecked(WITNESS_127_PAY_PER_BLOCK))
-        .map(BytesCapsule::getData)
-        .map(ByteArray::toLong)
+    return Optional.ofNullable(getLong(WITNESS_127_PAY_PER_BLOCK))
         .orElse(16000000L);
   }
 
@@ -833,9 +811,7 @@ public class DynamicPropertiesStore extends TronStoreWithRevoking<BytesCapsule>
   }
 
   public long getWitnessStandbyAllowance() {
-    return Optional.ofNullable(getUnchecked(WITNESS_STANDBY_ALLOWANCE))
-        .map(BytesCapsule::getData)
-        .map(ByteArray::toLong)
+    return Optional.ofNullable(getLong(WITNESS_STANDBY_ALLOWANCE))
         .orElseThrow(
             () -> new IllegalArgumentException("not found WITNESS_STANDBY_ALLOWANCE"));
   }
@@ -846,9 +822,7 @@ public class DynamicPropertiesStore extends TronStoreWithRevoking<BytesCapsule>
   }
 
   public long getOneDayNetLimit() {
-    return Optional.ofNullable(getUnchecked(DynamicResourceProperties.ONE_DAY_NET_LIMIT))
-        .map(BytesCapsule::getData)
-        .map(ByteArray::toLong)
+    return Optional.ofNullable(getLong(DynamicResourceProperties.ONE_DAY_NET_LIMIT))
         .orElseThrow(
             () -> new IllegalArgumentException("not found ONE_DAY_NET_LIMIT"));
   }
@@ -859,9 +833,7 @@ public class DynamicPropertiesStore extends TronStoreWithRevoking<BytesCapsule>
   }
 
   public long getPublicNetUsage() {
-    return Optional.ofNullable(getUnchecked(DynamicResourceProperties.PUBLIC_NET_USAGE))
-        .map(BytesCapsule::getData)
-        .map(ByteArray::toLong)
+    return Optional.ofNullable(getLong(DynamicResourceProperties.PUBLIC_NET_USAGE))
         .orElseThrow(
             () -> new IllegalArgumentException("not found PUBLIC_NET_USAGE"));
   }
@@ -872,9 +844,7 @@ public class DynamicPropertiesStore extends TronStoreWithRevoking<BytesCapsule>
   }
 
   public long getPublicNetLimit() {
-    return Optional.ofNullable(getUnchecked(DynamicResourceProperties.PUBLIC_NET_LIMIT))
-        .map(BytesCapsule::getData)
-        .map(ByteArray::toLong)
+    return Optional.ofNullable(getLong(DynamicResourceProperties.PUBLIC_NET_LIMIT))
         .orElseThrow(
             () -> new IllegalArgumentException("not found PUBLIC_NET_LIMIT"));
   }
@@ -885,9 +855,7 @@ public class DynamicPropertiesStore extends TronStoreWithRevoking<BytesCapsule>
   }
 
   public long getPublicNetTime() {
-    return Optional.ofNullable(getUnchecked(DynamicResourceProperties.PUBLIC_NET_TIME))
-        .map(BytesCapsule::getData)
-        .map(ByteArray::toLong)
+    return Optional.ofNullable(getLong(DynamicResourceProperties.PUBLIC_NET_TIME))
         .orElseThrow(
             () -> new IllegalArgumentException("not found PUBLIC_NET_TIME"));
   }
@@ -898,9 +866,7 @@ public class DynamicPropertiesStore extends TronStoreWithRevoking<BytesCapsule>
   }
 
   public long getFreeNetLimit() {
-    return Optional.ofNullable(getUnchecked(DynamicResourceProperties.FREE_NET_LIMIT))
-        .map(BytesCapsule::getData)
-        .map(ByteArray::toLong)
+    return Optional.ofNullable(getLong(DynamicResourceProperties.FREE_NET_LIMIT))
         .orElseThrow(
             () -> new IllegalArgumentException("not found FREE_NET_LIMIT"));
   }
@@ -911,9 +877,7 @@ public class DynamicPropertiesStore extends TronStoreWithRevoking<BytesCapsule>
   }
 
   public long getTotalNetWeight() {
-    return Optional.ofNullable(getUnchecked(DynamicResourceProperties.TOTAL_NET_WEIGHT))
-        .map(BytesCapsule::getData)
-        .map(ByteArray::toLong)
+    return Optional.ofNullable(getLong(DynamicResourceProperties.TOTAL_NET_WEIGHT))
         .orElseThrow(
             () -> new IllegalArgumentException("not found TOTAL_NET_WEIGHT"));
   }
@@ -924,9 +888,7 @@ public class DynamicPropertiesStore extends TronStoreWithRevoking<BytesCapsule>
   }
 
   public long getTotalEnergyWeight() {
-    return Optional.ofNullable(getUnchecked(DynamicResourceProperties.TOTAL_ENERGY_WEIGHT))
-        .map(BytesCapsule::getData)
-        .map(ByteArray::toLong)
+    return Optional.ofNullable(getLong(DynamicResourceProperties.TOTAL_ENERGY_WEIGHT))
         .orElseThrow(
             () -> new IllegalArgumentException("not found TOTAL_ENERGY_WEIGHT"));
   }
@@ -937,9 +899,7 @@ public class DynamicPropertiesStore extends TronStoreWithRevoking<BytesCapsule>
   }
 
   public long getTotalNetLimit() {
-    return Optional.ofNullable(getUnchecked(DynamicResourceProperties.TOTAL_NET_LIMIT))
-        .map(BytesCapsule::getData)
-        .map(ByteArray::toLong)
+    return Optional.ofNullable(getLong(DynamicResourceProperties.TOTAL_NET_LIMIT))
         .orElseThrow(
             () -> new IllegalArgumentException("not found TOTAL_NET_LIMIT"));
   }
@@ -965,9 +925,7 @@ public class DynamicPropertiesStore extends TronStoreWithRevoking<BytesCapsule>
   }
 
   public long getTotalEnergyLimit() {
-    return Optional.ofNullable(getUnchecked(DynamicResourceProperties.TOTAL_ENERGY_LIMIT))
-        .map(BytesCapsule::getData)
-        .map(ByteArray::toLong)
+    return Optional.ofNullable(getLong(DynamicResourceProperties.TOTAL_ENERGY_LIMIT))
         .orElseThrow(
             () -> new IllegalArgumentException("not found TOTAL_ENERGY_LIMIT"));
   }
@@ -978,9 +936,7 @@ public class DynamicPropertiesStore extends TronStoreWithRevoking<BytesCapsule>
   }
 
   public long getTotalEnergyCurrentLimit() {
-    return Optional.ofNullable(getUnchecked(DynamicResourceProperties.TOTAL_ENERGY_CURRENT_LIMIT))
-        .map(BytesCapsule::getData)
-        .map(ByteArray::toLong)
+    return Optional.ofNullable(getLong(DynamicResourceProperties.TOTAL_ENERGY_CURRENT_LIMIT))
         .orElseThrow(
             () -> new IllegalArgumentException("not found TOTAL_ENERGY_CURRENT_LIMIT"));
   }
@@ -991,9 +947,7 @@ public class DynamicPropertiesStore extends TronStoreWithRevoking<BytesCapsule>
   }
 
   public long getTotalEnergyTargetLimit() {
-    return Optional.ofNullable(getUnchecked(DynamicResourceProperties.TOTAL_ENERGY_TARGET_LIMIT))
-        .map(BytesCapsule::getData)
-        .map(ByteArray::toLong)
+    return Optional.ofNullable(getLong(DynamicResourceProperties.TOTAL_ENERGY_TARGET_LIMIT))
         .orElseThrow(
             () -> new IllegalArgumentException("not found TOTAL_ENERGY_TARGET_LIMIT"));
   }
@@ -1004,9 +958,7 @@ public class DynamicPropertiesStore extends TronStoreWithRevoking<BytesCapsule>
   }
 
   public long getTotalEnergyAverageUsage() {
-    return Optional.ofNullable(getUnchecked(DynamicResourceProperties.TOTAL_ENERGY_AVERAGE_USAGE))
-        .map(BytesCapsule::getData)
-        .map(ByteArray::toLong)
+    return Optional.ofNullable(getLong(DynamicResourceProperties.TOTAL_ENERGY_AVERAGE_USAGE))
         .orElseThrow(
             () -> new IllegalArgumentException("not found TOTAL_ENERGY_AVERAGE_USAGE"));
   }
@@ -1018,9 +970,7 @@ public class DynamicPropertiesStore extends TronStoreWithRevoking<BytesCapsule>
 
   public long getAdaptiveResourceLimitMultiplier() {
     return Optional
-        .ofNullable(getUnchecked(DynamicResourceProperties.ADAPTIVE_RESOURCE_LIMIT_MULTIPLIER))
-        .map(BytesCapsule::getData)
-        .map(ByteArray::toLong)
+        .ofNullable(getLong(DynamicResourceProperties.ADAPTIVE_RESOURCE_LIMIT_MULTIPLIER))
         .orElseThrow(
             () -> new IllegalArgumentException("not found ADAPTIVE_RESOURCE_LIMIT_MULTIPLIER"));
   }
@@ -1032,9 +982,7 @@ public class DynamicPropertiesStore extends TronStoreWithRevoking<BytesCapsule>
 
   public long getAdaptiveResourceLimitTargetRatio() {
     return Optional
-        .ofNullable(getUnchecked(DynamicResourceProperties.ADAPTIVE_RESOURCE_LIMIT_TARGET_RATIO))
-        .map(BytesCapsule::getData)
-        .map(ByteArray::toLong)
+        .ofNullable(getLong(DynamicResourceProperties.ADAPTIVE_RESOURCE_LIMIT_TARGET_RATIO))
         .orElseThrow(
             () -> new IllegalArgumentException("not found ADAPTIVE_RESOURCE_LIMIT_TARGET_RATIO"));
   }
@@ -1045,9 +993,7 @@ public class DynamicPropertiesStore extends TronStoreWithRevoking<BytesCapsule>
   }
 
   public long getTotalEnergyAverageTime() {
-    return Optional.ofNullable(getUnchecked(DynamicResourceProperties.TOTAL_ENERGY_AVERAGE_TIME))
-        .map(BytesCapsule::getData)
-        .map(ByteArray::toLong)
+    return Optional.ofNullable(getLong(DynamicResourceProperties.TOTAL_ENERGY_AVERAGE_TIME))
         .orElseThrow(
             () -> new IllegalArgumentException("not found TOTAL_NET_AVERAGE_TIME"));
   }
@@ -1058,9 +1004,7 @@ public class DynamicPropertiesStore extends TronStoreWithRevoking<BytesCapsule>
   }
 
   public long getBlockEnergyUsage() {
-    return Optional.ofNullable(getUnchecked(DynamicResourceProperties.BLOCK_ENERGY_USAGE))
-        .map(BytesCapsule::getData)
-        .map(ByteArray::toLong)
+    return Optional.ofNullable(getLong(DynamicResourceProperties.BLOCK_ENERGY_USAGE))
         .orElseThrow(
             () -> new IllegalArgumentException("not found BLOCK_ENERGY_USAGE"));
   }
@@ -1071,9 +1015,7 @@ public class DynamicPropertiesStore extends TronStoreWithRevoking<BytesCapsule>
   }
 
   public long getEnergyFee() {
-    return Optional.ofNullable(getUnchecked(ENERGY_FEE))
-        .map(BytesCapsule::getData)
-        .map(ByteArray::toLong)
+    return Optional.ofNullable(getLong(ENERGY_FEE))
         .orElseThrow(
             () -> new IllegalArgumentException("not found ENERGY_FEE"));
   }
@@ -1084,9 +1026,7 @@ public class DynamicPropertiesStore extends TronStoreWithRevoking<BytesCapsule>
   }
 
   public long getMaxCpuTimeOfOneTx() {
-    return Optional.ofNullable(getUnchecked(MAX_CPU_TIME_OF_ONE_TX))
-        .map(BytesCapsule::getData)
-        .map(ByteArray::toLong)
+    return Optional.ofNullable(getLong(MAX_CPU_TIME_OF_ONE_TX))
         .orElseThrow(
             () -> new IllegalArgumentException("not found MAX_CPU_TIME_OF_ONE_TX"));
   }
@@ -1097,9 +1037,7 @@ public class DynamicPropertiesStore extends TronStoreWithRevoking<BytesCapsule>
   }
 
   public long getShieldedTransactionCreateAccountFee() {
-    return Optional.ofNullable(getUnchecked(SHIELDED_TRANSACTION_CREATE_ACCOUNT_FEE))
-        .map(BytesCapsule::getData)
-        .map(ByteArray::toLong)
+    return Optional.ofNullable(getLong(SHIELDED_TRANSACTION_CREATE_ACCOUNT_FEE))
         .orElseThrow(
             () -> new IllegalArgumentException(
                 "not found SHIELDED_TRANSACTION_CREATE_ACCOUNT_FEE"));
@@ -1111,9 +1049,7 @@ public class DynamicPropertiesStore extends TronStoreWithRevoking<BytesCapsule>
   }
 
   public long getShieldedTransactionFee() {
-    return Optional.ofNullable(getUnchecked(SHIELDED_TRANSACTION_FEE))
-        .map(BytesCapsule::getData)
-        .map(ByteArray::toLong)
+    return Optional.ofNullable(getLong(SHIELDED_TRANSACTION_FEE))
         .orElseThrow(
             () -> new IllegalArgumentException("not found SHIELD_TRANSACTION_FEE"));
   }
@@ -1124,9 +1060,7 @@ public class DynamicPropertiesStore extends TronStoreWithRevoking<BytesCapsule>
   }
 
   public long getTotalShieldedPoolValue() {
-    return Optional.ofNullable(getUnchecked(TOTAL_SHIELDED_POOL_VALUE))
-        .map(BytesCapsule::getData)
-        .map(ByteArray::toLong)
+    return Optional.ofNullable(getLong(TOTAL_SHIELDED_POOL_VALUE))
         .orElseThrow(
             () -> new IllegalArgumentException("not found TOTAL_SHIELDED_POOL_Value"));
   }
@@ -1137,9 +1071,7 @@ public class DynamicPropertiesStore extends TronStoreWithRevoking<BytesCapsule>
   }
 
   public long getCreateAccountFee() {
-    return Optional.ofNullable(getUnchecked(CREATE_ACCOUNT_FEE))
-        .map(BytesCapsule::getData)
-        .map(ByteArray::toLong)
+    return Optional.ofNullable(getLong(CREATE_ACCOUNT_FEE))
         .orElseThrow(
             () -> new IllegalArgumentException("not found CREATE_ACCOUNT_FEE"));
   }
@@ -1150,9 +1082,7 @@ public class DynamicPropertiesStore extends TronStoreWithRevoking<BytesCapsule>
   }
 
   public long getCreateNewAccountFeeInSystemContract() {
-    return Optional.ofNullable(getUnchecked(CREATE_NEW_ACCOUNT_FEE_IN_SYSTEM_CONTRACT))
-        .map(BytesCapsule::getData)
-        .map(ByteArray::toLong)
+    return Optional.ofNullable(getLong(CREATE_NEW_ACCOUNT_FEE_IN_SYSTEM_CONTRACT))
         .orElseThrow(
             () -> new IllegalArgumentException(
                 "not found CREATE_NEW_ACCOUNT_FEE_IN_SYSTEM_CONTRACT"));
@@ -1164,9 +1094,7 @@ public class DynamicPropertiesStore extends TronStoreWithRevoking<BytesCapsule>
   }
 
   public long getCreateNewAccountBandwidthRate() {
-    return Optional.ofNullable(getUnchecked(CREATE_NEW_ACCOUNT_BANDWIDTH_RATE))
-        .map(BytesCapsule::getData)
-        .map(ByteArray::toLong)
+    return Optional.ofNullable(getLong(CREATE_NEW_ACCOUNT_BANDWIDTH_RATE))
         .orElseThrow(
             () -> new IllegalArgumentException(
                 "not found CREATE_NsEW_ACCOUNT_BANDWIDTH_RATE2"));
@@ -1178,9 +1106,7 @@ public class DynamicPropertiesStore extends TronStoreWithRevoking<BytesCapsule>
   }
 
   public long getTransactionFee() {
-    return Optional.ofNullable(getUnchecked(TRANSACTION_FEE))
-        .map(BytesCapsule::getData)
-        .map(ByteArray::toLong)
+    return Optional.ofNullable(getLong(TRANSACTION_FEE))
         .orElseThrow(
             () -> new IllegalArgumentException("not found TRANSACTION_FEE"));
   }
@@ -1201,25 +1127,19 @@ public class DynamicPropertiesStore extends TronStoreWithRevoking<BytesCapsule>
   }
 
   public long getAssetIssueFee() {
-    return Optional.ofNullable(getUnchecked(ASSET_ISSUE_FEE))
-        .map(BytesCapsule::getData)
-        .map(ByteArray::toLong)
+    return Optional.ofNullable(getLong(ASSET_ISSUE_FEE))
         .orElseThrow(
             () -> new IllegalArgumentException("not found ASSET_ISSUE_FEE"));
   }
 
   public long getUpdateAccountPermissionFee() {
-    return Optional.ofNullable(getUnchecked(UPDATE_ACCOUNT_PERMISSION_FEE))
-        .map(BytesCapsule::getData)
-        .map(ByteArray::toLong)
+    return Optional.ofNullable(getLong(UPDATE_ACCOUNT_PERMISSION_FEE))
         .orElseThrow(
             () -> new IllegalArgumentException("not found UPDATE_ACCOUNT_PERMISSION_FEE"));
   }
 
   public long getMultiSignFee() {
-    return Optional.ofNullable(getUnchecked(MULTI_SIGN_FEE))
-        .map(BytesCapsule::getData)
-        .map(ByteArray::toLong)
+    return Optional.ofNullable(getLong(MULTI_SIGN_FEE))
         .orElseThrow(
             () -> new IllegalArgumentException("not found MULTI_SIGN_FEE"));
   }
@@ -1230,9 +1150,7 @@ public class DynamicPropertiesStore extends TronStoreWithRevoking<BytesCapsule>
   }
 
   public long getExchangeCreateFee() {
-    return Optional.ofNullable(getUnchecked(EXCHANGE_CREATE_FEE))
-        .map(BytesCapsule::getData)
-        .map(ByteArray::toLong)
+    return Optional.ofNullable(getLong(EXCHANGE_CREATE_FEE))
         .orElseThrow(
             () -> new IllegalArgumentException("not found EXCHANGE_CREATE_FEE"));
   }
@@ -1243,9 +1161,7 @@ public class DynamicPropertiesStore extends TronStoreWithRevoking<BytesCapsule>
   }
 
   public long getExchangeBalanceLimit() {
-    return Optional.ofNullable(getUnchecked(EXCHANGE_BALANCE_LIMIT))
-        .map(BytesCapsule::getData)
-        .map(ByteArray::toLong)
+    return Optional.ofNullable(getLong(EXCHANGE_BALANCE_LIMIT))
         .orElseThrow(
             () -> new IllegalArgumentException("not found EXCHANGE_BALANCE_LIMIT"));
   }
@@ -1256,9 +1172,7 @@ public class DynamicPropertiesStore extends TronStoreWithRevoking<BytesCapsule>
   }
 
   public long getTotalTransactionCost() {
-    return Optional.ofNullable(getUnchecked(TOTAL_TRANSACTION_COST))
-        .map(BytesCapsule::getData)
-        .map(ByteArray::toLong)
+    return Optional.ofNullable(getLong(TOTAL_TRANSACTION_COST))
         .orElseThrow(
             () -> new IllegalArgumentException("not found TOTAL_TRANSACTION_COST"));
   }
@@ -1269,9 +1183,7 @@ public class DynamicPropertiesStore extends TronStoreWithRevoking<BytesCapsule>
   }
 
   public long getTotalCreateAccountCost() {
-    return Optional.ofNullable(getUnchecked(TOTAL_CREATE_ACCOUNT_COST))
-        .map(BytesCapsule::getData)
-        .map(ByteArray::toLong)
+    return Optional.ofNullable(getLong(TOTAL_CREATE_ACCOUNT_COST))
         .orElseThrow(
             () -> new IllegalArgumentException("not found TOTAL_CREATE_ACCOUNT_COST"));
   }
@@ -1282,9 +1194,7 @@ public class DynamicPropertiesStore extends TronStoreWithRevoking<BytesCapsule>
   }
 
   public long getTotalCreateWitnessCost() {
-    return Optional.ofNullable(getUnchecked(TOTAL_CREATE_WITNESS_COST))
-        .map(BytesCapsule::getData)
-        .map(ByteArray::toLong)
+    return Optional.ofNullable(getLong(TOTAL_CREATE_WITNESS_COST))
         .orElseThrow(
             () -> new IllegalArgumentException("not found TOTAL_CREATE_WITNESS_COST"));
   }
@@ -1295,9 +1205,7 @@ public class DynamicPropertiesStore extends TronStoreWithRevoking<BytesCapsule>
   }
 
   public long getTotalStoragePool() {
-    return Optional.ofNullable(getUnchecked(TOTAL_STORAGE_POOL))
-        .map(BytesCapsule::getData)
-        .map(ByteArray::toLong)
+    return Optional.ofNullable(getLong(TOTAL_STORAGE_POOL))
         .orElseThrow(
             () -> new IllegalArgumentException("not found TOTAL_STORAGE_POOL"));
   }
@@ -1308,9 +1216,7 @@ public class DynamicPropertiesStore extends TronStoreWithRevoking<BytesCapsule>
   }
 
   public long getTotalStorageTax() {
-    return Optional.ofNullable(getUnchecked(TOTAL_STORAGE_TAX))
-        .map(BytesCapsule::getData)
-        .map(ByteArray::toLong)
+    return Optional.ofNullable(getLong(TOTAL_STORAGE_TAX))
         .orElseThrow(
             () -> new IllegalArgumentException("not found TOTAL_STORAGE_TAX"));
   }
@@ -1321,9 +1227,7 @@ public class DynamicPropertiesStore extends TronStoreWithRevoking<BytesCapsule>
   }
 
   public long getTotalStorageReserved() {
-    return Optional.ofNullable(getUnchecked(TOTAL_STORAGE_RESERVED))
-        .map(BytesCapsule::getData)
-        .map(ByteArray::toLong)
+    return Optional.ofNullable(getLong(TOTAL_STORAGE_RESERVED))
         .orElseThrow(
             () -> new IllegalArgumentException("not found TOTAL_STORAGE_RESERVED"));
   }
@@ -1334,9 +1238,7 @@ public class DynamicPropertiesStore extends TronStoreWithRevoking<BytesCapsule>
   }
 
   public long getStorageExchangeTaxRate() {
-    return Optional.ofNullable(getUnchecked(STORAGE_EXCHANGE_TAX_RATE))
-        .map(BytesCapsule::getData)
-        .map(ByteArray::toLong)
+    return Optional.ofNullable(getLong(STORAGE_EXCHANGE_TAX_RATE))
         .orElseThrow(
             () -> new IllegalArgumentException("not found STORAGE_EXCHANGE_TAX_RATE"));
   }
@@ -1347,9 +1249,7 @@ public class DynamicPropertiesStore extends TronStoreWithRevoking<BytesCapsule>
   }
 
   public long getRemoveThePowerOfTheGr() {
-    return Optional.ofNullable(getUnchecked(REMOVE_THE_POWER_OF_THE_GR))
-        .map(BytesCapsule::getData)
-        .map(ByteArray::toLong)
+    return Optional.ofNullable(getLong(REMOVE_THE_POWER_OF_THE_GR))
         .orElseThrow(
             () -> new IllegalArgumentException("not found REMOVE_THE_POWER_OF_THE_GR"));
   }
@@ -1360,9 +1260,7 @@ public class DynamicPropertiesStore extends TronStoreWithRevoking<BytesCapsule>
   }
 
   public long getAllowDelegateResource() {
-    return Optional.ofNullable(getUnchecked(ALLOW_DELEGATE_RESOURCE))
-        .map(BytesCapsule::getData)
-        .map(ByteArray::toLong)
+    return Optional.ofNullable(getLong(ALLOW_DELEGATE_RESOURCE))
         .orElseThrow(
             () -> new IllegalArgumentException("not found ALLOW_DELEGATE_RESOURCE"));
   }
@@ -1373,9 +1271,7 @@ public class DynamicPropertiesStore extends TronStoreWithRevoking<BytesCapsule>
   }
 
   public long getAllowAdaptiveEnergy() {
-    return Optional.ofNullable(getUnchecked(ALLOW_ADAPTIVE_ENERGY))
-        .map(BytesCapsule::getData)
-        .map(ByteArray::toLong)
+    return Optional.ofNullable(getLong(ALLOW_ADAPTIVE_ENERGY))
         .orElseThrow(
             () -> new IllegalArgumentException("not found ALLOW_ADAPTIVE_ENERGY"));
   }
@@ -1386,9 +1282,7 @@ public class DynamicPropertiesStore extends TronStoreWithRevoking<BytesCapsule>
   }
 
   public long getAllowTvmTransferTrc10() {
-    return Optional.ofNullable(getUnchecked(ALLOW_TVM_TRANSFER_TRC10))
-        .map(BytesCapsule::getData)
-        .map(ByteArray::toLong)
+    return Optional.ofNullable(getLong(ALLOW_TVM_TRANSFER_TRC10))
         .orElseThrow(
             () -> new IllegalArgumentException("not found ALLOW_TVM_TRANSFER_TRC10"));
   }
@@ -1399,9 +1293,7 @@ public class DynamicPropertiesStore extends TronStoreWithRevoking<BytesCapsule>
   }
 
   public long getAllowTvmConstantinople() {
-    return Optional.ofNullable(getUnchecked(ALLOW_TVM_CONSTANTINOPLE))
-        .map(BytesCapsule::getData)
-        .map(ByteArray::toLong)
+    return Optional.ofNullable(getLong(ALLOW_TVM_CONSTANTINOPLE))
         .orElseThrow(
             () -> new IllegalArgumentException("not found ALLOW_TVM_CONSTANTINOPLE"));
   }
@@ -1412,9 +1304,7 @@ public class DynamicPropertiesStore extends TronStoreWithRevoking<BytesCapsule>
   }
 
   public long getAllowTvmSolidity059() {
-    return Optional.ofNullable(getUnchecked(ALLOW_TVM_SOLIDITY_059))
-        .map(BytesCapsule::getData)
-        .map(ByteArray::toLong)
+    return Optional.ofNullable(getLong(ALLOW_TVM_SOLIDITY_059))
         .orElseThrow(() -> new IllegalArgumentException("not found ALLOW_TVM_SOLIDITY_059"));
   }
 
@@ -1424,9 +1314,7 @@ public class DynamicPropertiesStore extends TronStoreWithRevoking<BytesCapsule>
   }
 
   public long getForbidTransferToContract() {
-    return Optional.ofNullable(getUnchecked(FORBID_TRANSFER_TO_CONTRACT))
-        .map(BytesCapsule::getData)
-        .map(ByteArray::toLong)
+    return Optional.ofNullable(getLong(FORBID_TRANSFER_TO_CONTRACT))
         .orElseThrow(() -> new IllegalArgumentException("not found FORBID_TRANSFER_TO_CONTRACT"));
   }
 
@@ -1483,9 +1371,7 @@ public class DynamicPropertiesStore extends TronStoreWithRevoking<BytesCapsule>
   }
 
   public long getAllowUpdateAccountName() {
-    return Optional.ofNullable(getUnchecked(ALLOW_UPDATE_ACCOUNT_NAME))
-        .map(BytesCapsule::getData)
-        .map(ByteArray::toLong)
+    return Optional.ofNullable(getLong(ALLOW_UPDATE_ACCOUNT_NAME))
         .orElseThrow(
             () -> new IllegalArgumentException("not found ALLOW_UPDATE_ACCOUNT_NAME"));
   }
@@ -1496,9 +1382,7 @@ public class DynamicPropertiesStore extends TronStoreWithRevoking<BytesCapsule>
   }
 
   public long getAllowSameTokenName() {
-    return Optional.ofNullable(getUnchecked(ALLOW_SAME_TOKEN_NAME))
-        .map(BytesCapsule::getData)
-        .map(ByteArray::toLong)
+    return Optional.ofNullable(getLong(ALLOW_SAME_TOKEN_NAME))
         .orElseThrow(
             () -> new IllegalArgumentException("not found ALLOW_SAME_TOKEN_NAME"));
   }
@@ -1514,9 +1398,7 @@ public class DynamicPropertiesStore extends TronStoreWithRevoking<BytesCapsule>
   }
 
   public int getTotalSignNum() {
-    return Optional.ofNullable(getUnchecked(TOTAL_SIGN_NUM))
-        .map(BytesCapsule::getData)
-        .map(ByteArray::toInt)
+    return Optional.ofNullable(getInt(TOTAL_SIGN_NUM))
         .orElseThrow(
             () -> new IllegalArgumentException("not found TOTAL_SIGN_NUM"));
   }
@@ -1527,17 +1409,13 @@ public class DynamicPropertiesStore extends TronStoreWithRevoking<BytesCapsule>
   }
 
   public long getAllowMultiSign() {
-    return Optional.ofNullable(getUnchecked(ALLOW_MULTI_SIGN))
-        .map(BytesCapsule::getData)
-        .map(ByteArray::toLong)
+    return Optional.ofNullable(getLong(ALLOW_MULTI_SIGN))
         .orElseThrow(
             () -> new IllegalArgumentException("not found ALLOW_MULTI_SIGN"));
   }
 
   public long getAllowCreationOfContracts() {
-    return Optional.ofNullable(getUnchecked(ALLOW_CREATION_OF_CONTRACTS))
-        .map(BytesCapsule::getData)
-        .map(ByteArray::toLong)
+    return Optional.ofNullable(getLong(ALLOW_CREATION_OF_CONTRACTS))
         .orElseThrow(
             () -> new IllegalArgumentException("not found ALLOW_CREATION_OF_CONTRACTS"));
   }
@@ -1552,9 +1430,7 @@ public class DynamicPropertiesStore extends TronStoreWithRevoking<BytesCapsule>
   }
 
   public long getAllowShieldedTransaction() {
-    return Optional.ofNullable(getUnchecked(ALLOW_SHIELDED_TRANSACTION))
-        .map(BytesCapsule::getData)
-        .map(ByteArray::toLong)
+    return Optional.ofNullable(getLong(ALLOW_SHIELDED_TRANSACTION))
         .orElseThrow(
             () -> new IllegalArgumentException("not found ALLOW_ZKSNARK_TRANSACTION"));
   }
@@ -1601,9 +1477,7 @@ public class DynamicPropertiesStore extends TronStoreWithRevoking<BytesCapsule>
   }
 
   public long getLatestSolidifiedBlockNum() {
-    return Optional.ofNullable(getUnchecked(LATEST_SOLIDIFIED_BLOCK_NUM))
-        .map(BytesCapsule::getData)
-        .map(ByteArray::toLong)
+    return Optional.ofNullable(getLong(LATEST_SOLIDIFIED_BLOCK_NUM))
         .orElseThrow(
             () -> new IllegalArgumentException("not found latest SOLIDIFIED_BLOCK_NUM"));
   }
@@ -1613,9 +1487,7 @@ public class DynamicPropertiesStore extends TronStoreWithRevoking<BytesCapsule>
   }
 
   public long getLatestProposalNum() {
-    return Optional.ofNullable(getUnchecked(LATEST_PROPOSAL_NUM))
-        .map(BytesCapsule::getData)
-        .map(ByteArray::toLong)
+    return Optional.ofNullable(getLong(LATEST_PROPOSAL_NUM))
         .orElseThrow(
             () -> new IllegalArgumentException("not found latest PROPOSAL_NUM"));
   }
@@ -1625,9 +1497,7 @@ public class DynamicPropertiesStore extends TronStoreWithRevoking<BytesCapsule>
   }
 
   public long getLatestExchangeNum() {
-    return Optional.ofNullable(getUnchecked(LATEST_EXCHANGE_NUM))
-        .map(BytesCapsule::getData)
-        .map(ByteArray::toLong)
+    return Optional.ofNullable(getLong(LATEST_EXCHANGE_NUM))
         .orElseThrow(
             () -> new IllegalArgumentException("not found latest EXCHANGE_NUM"));
   }
@@ -1636,28 +1506,29 @@ public class DynamicPropertiesStore extends TronStoreWithRevoking<BytesCapsule>
    * get timestamp of creating global latest block.
    */
   public long getLatestBlockHeaderTimestamp() {
-    return Optional.ofNullable(getUnchecked(LATEST_BLOCK_HEADER_TIMESTAMP))
-        .map(BytesCapsule::getData)
-        .map(ByteArray::toLong)
+    return Optional.ofNullable(getLong(LATEST_BLOCK_HEADER_TIMESTAMP))
         .orElseThrow(
             () -> new IllegalArgumentException("not found latest block header timestamp"));
   }
 
+  /**
+   * Key of the latest block header timestamp, which every block writes.
+   */
+  public static byte[] getLatestBlockHeaderTimestampKey() {
+    return LATEST_BLOCK_HEADER_TIMESTAMP.clone();
+  }
+
   /**
    * get number of global latest block.
    */
   public long getLatestBlockHeaderNumber() {
-    return Optional.ofNullable(getUnchecked(LATEST_BLOCK_HEADER_NUMBER))
-        .map(BytesCapsule::getData)
-        .map(ByteArray::toLong)
+    return Optional.ofNullable(getLong(LATEST_BLOCK_HEADER_NUMBER))
         .orElseThrow(
             () -> new IllegalArgumentException("not found latest block header number"));
   }
 
   public int getStateFlag() {
-    return Optional.ofNullable(getUnchecked(STATE_FLAG))
-        .map(BytesCapsule::getData)
-        .map(ByteArray::toInt)
+    return Optional.ofNullable(getInt(STATE_FLAG))
         .orElseThrow(() -> new IllegalArgumentException("not found maintenance flag"));
   }
 
@@ -1702,9 +1573,7 @@ public class DynamicPropertiesStore extends TronStoreWithRevoking<BytesCapsule>
   }
 
   public long getNextMaintenanceTime() {
-    return Optional.ofNullable(getUnchecked(NEXT_MAINTENANCE_TIME))
-        .map(BytesCapsule::getData)
-        .map(ByteArray::toLong)
+    return Optional.ofNullable(getLong(NEXT_MAINTENANCE_TIME))
         .orElseThrow(
             () -> new IllegalArgumentException("not found NEXT_MAINTENANCE_TIME"));
   }
@@ -1785,9 +1654,7 @@ public class DynamicPropertiesStore extends TronStoreWithRevoking<BytesCapsule>
    * get allow protobuf number.
    */
   public long getAllowProtoFilterNum() {
-    return Optional.ofNullable(getUnchecked(ALLOW_PROTO_FILTER_NUM))
-        .map(BytesCapsule::getData)
-        .map(ByteArray::toLong)
+    return Optional.ofNullable(getLong(ALLOW_PROTO_FILTER_NUM))
         .orElseThrow(() -> new IllegalArgumentException("not found allow protobuf number"));
   }
 
@@ -1805,9 +1672,7 @@ public class DynamicPropertiesStore extends TronStoreWithRevoking<BytesCapsule>
   }
 
   public long getAllowAccountStateRoot() {
-    return Optional.ofNullable(getUnchecked(ALLOW_ACCOUNT_STATE_ROOT))
-        .map(BytesCapsule::getData)
-        .map(ByteArray::toLong)
+    return Optional.ofNullable(getLong(ALLOW_ACCOUNT_STATE_ROOT))
         .orElseThrow(
             () -> new IllegalArgumentException("not found ALLOW_ACCOUNT_STATE_ROOT"));
   }
@@ -1818,9 +1683,7 @@ public class DynamicPropertiesStore extends TronStoreWithRevoking<BytesCapsule>
   }
 
   public long getCurrentCycleTimeStamp() {
-    return Optional.ofNullable(getUnchecked(CURRENT_CYCLE_TIMESTAMP))
-        .map(BytesCapsule::getData)
-        .map(ByteArray::toLong)
+    return Optional.ofNullable(getLong(CURRENT_CYCLE_TIMESTAMP))
         .orElse(0L);
   }
 
@@ -1829,9 +1692,7 @@ public class DynamicPropertiesStore extends TronStoreWithRevoking<BytesCapsule>
   }
 
   public long getCurrentCycleNumber() {
-    return Optional.ofNullable(getUnchecked(CURRENT_CYCLE_NUMBER))
-        .map(BytesCapsule::getData)
-        .map(ByteArray::toLong)
+    return Optional.ofNullable(getLong(CURRENT_CYCLE_NUMBER))
         .orElse(0L);
   }
 
@@ -1845,9 +1706,7 @@ public class DynamicPropertiesStore extends TronStoreWithRevoking<BytesCapsule>
   }
 
   public long getChangeDelegation() {
-    return Optional.ofNullable(getUnchecked(CHANGE_DELEGATION))
-        .map(BytesCapsule::getData)
-        .map(ByteArray::toLong)
+    return Optional.ofNullable(getLong(CHANGE_DELEGATION))
         .orElseThrow(() -> new IllegalArgumentException("not found CHANGE_DELEGATION"));
   }
 
@@ -1861,9 +1720,7 @@ public class DynamicPropertiesStore extends TronStoreWithRevoking<BytesCapsule>
   }
 
   public long getAllowPBFT() {
-    return Optional.ofNullable(getUnchecked(ALLOW_PBFT))
-        .map(BytesCapsule::getData)
-        .map(ByteArray::toLong)
+    return Optional.ofNullable(getLong(ALLOW_PBFT))
         .orElseThrow(() -> new IllegalArgumentException("not found ALLOW_PBFT"));
   }
 
@@ -1871,6 +1728,32 @@ public class DynamicPropertiesStore extends TronStoreWithRevoking<BytesCapsule>
     return getAllowPBFT() == 1;
   }
 
+  /**
+   * Decoded long value of key, null if not found.
+   */
+  private Long getLong(byte[] key) {
+    if (revokingDB instanceof Chainbase) {
+      return ((Chainbase) revokingDB).getDecoded(key, ByteArray::toLong);
+    }
+    return Optional.ofNullable(getUnchecked(key))
+        .map(BytesCapsule::getData)
+        .map(ByteArray::toLong)
+        .orElse(null);
+  }
+
+  /**
+   * Decoded int value of key, null if not found.
+   */
+  private Integer getInt(byte[] key) {
+    if (revokingDB instanceof Chainbase) {
+      return ((Chainbase) revokingDB).getDecoded(key, ByteArray::toInt);
+    }
+    return Optional.ofNullable(getUnchecked(key))
+        .map(BytesCapsule::getData)
+        .map(ByteArray::toInt)
+        .orElse(null);
+  }
+
   private static class DynamicResourceProperties {
 
     private static final byte[] ONE_DAY_NET_LIMIT = "ONE_DAY_NET_LIMIT".getBytes();
@@ -1,6 +1,9 @@
 package org.tron.core.store;
 
-import com.google.protobuf.ByteString;
+import com.google.protobuf.CodedInputStream;
+import com.google.protobuf.WireFormat;
+import java.io.IOException;
+import java.util.Arrays;
 import java.util.Objects;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.BooleanUtils;
@@ -15,6 +18,7 @@ import org.tron.core.db.TransactionStore;
 import org.tron.core.db.TronStoreWithRevoking;
 import org.tron.core.exception.BadItemException;
 import org.tron.protos.Protocol.TransactionInfo;
+import org.tron.protos.Protocol.TransactionRet;
 
 @Slf4j(topic = "DB")
 @Component
@@ -46,15 +50,46 @@ public class TransactionRetStore extends TronStoreWithRevoking<TransactionRetCap
       return null;
     }
 
-    TransactionRetCapsule result = new TransactionRetCapsule(value);
-    if (Objects.isNull(result.getInstance())) {
-      return null;
+    try {
+      TransactionInfo transactionInfo = findTransactionInfo(value, key);
+      return transactionInfo == null ? null : new TransactionInfoCapsule(transactionInfo);
+    } catch (IOException e) {
+      throw new BadItemException(e.getMessage());
     }
+  }
+
+  /**
+   * Find the info of one transaction in a serialized TransactionRet. Only the id of each info
+   * is read, the others are skipped over without being decoded.
+   */
+  static TransactionInfo findTransactionInfo(byte[] value, byte[] id) throws IOException {
+    CodedInputStream input = CodedInputStream.newInstance(value);
+    for (int tag = input.readTag(); tag != 0; tag = input.readTag()) {
+      if (WireFormat.getTagFieldNumber(tag) != TransactionRet.TRANSACTIONINFO_FIELD_NUMBER
+          || WireFormat.getTagWireType(tag) != WireFormat.WIRETYPE_LENGTH_DELIMITED) {
+        input.skipField(tag);
+        continue;
+      }
 
-    for (TransactionInfo transactionResultInfo : result.getInstance().getTransactioninfoList()) {
-      if (transactionResultInfo.getId().equals(ByteString.copyFrom(key))) {
-        return new TransactionInfoCapsule(transactionResultInfo);
+      int length = input.readRawVarint32();
+      int offset = input.getTotalBytesRead();
+      int oldLimit = input.pushLimit(length);
+      int infoTag = input.readTag();
+      if (WireFormat.getTagFieldNumber(infoTag) == TransactionInfo.ID_FIELD_NUMBER
+          && WireFormat.getTagWireType(infoTag) == WireFormat.WIRETYPE_LENGTH_DELIMITED) {
+        // the id is field 1, so it comes first when it is set
+        if (Arrays.equals(input.readByteArray(), id)) {
+          return TransactionInfo.parser().parseFrom(value, offset, length);
+        }
+      } else {
+        TransactionInfo transactionInfo = TransactionInfo.parser()
+            .parseFrom(value, offset, length);
+        if (Arrays.equals(transactionInfo.getId().toByteArray(), id)) {
+          return transactionInfo;
+        }
       }
+      input.skipRawBytes(input.getBytesUntilLimit());
+      input.popLimit(oldLimit);
     }
     return null;
   }
@@ -1,6 +1,7 @@
 package org.tron.core.store;
 
 import com.google.common.collect.Streams;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Map.Entry;
 import java.util.stream.Collectors;
@@ -10,12 +11,20 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 import org.tron.core.capsule.WitnessCapsule;
+import org.tron.core.config.Parameter.ChainConstant;
 import org.tron.core.db.TronStoreWithRevoking;
+import org.tron.core.db2.core.Chainbase;
+import org.tron.core.db2.core.Chainbase.Cursor;
+import org.tron.protos.Protocol.Witness;
 
 @Slf4j(topic = "DB")
 @Component
 public class WitnessStore extends TronStoreWithRevoking<WitnessCapsule> {
 
+  // standby witnesses as seen from the HEAD cursor, null if they have to be ranked again
+  private List<Witness> standbyWitnesses;
+  private long standbyRevertCount;
+
   @Autowired
   protected WitnessStore(@Value("witness") String dbName) {
     super(dbName);
@@ -35,4 +44,51 @@ public class WitnessStore extends TronStoreWithRevoking<WitnessCapsule> {
     byte[] value = revokingDB.getUnchecked(key);
     return ArrayUtils.isEmpty(value) ? null : new WitnessCapsule(value);
   }
+
+  /**
+   * Get the top WITNESS_STANDBY_LENGTH witnesses ordered by vote count. The ranking is kept
+   * in memory and only built again after a vote count or the set of witnesses changed, which
+   * happens at maintenance time or when a witness is created.
+   */
+  public synchronized List<WitnessCapsule> getStandbyWitnesses() {
+    if (!(revokingDB instanceof Chainbase)
+        || ((Chainbase) revokingDB).getCursor() != Cursor.HEAD) {
+      return rankStandbyWitnesses().stream().map(WitnessCapsule::new)
+          .collect(Collectors.toList());
+    }
+
+    long revertCount = ((Chainbase) revokingDB).getRevertCount();
+    if (standbyWitnesses == null || standbyRevertCount != revertCount) {
+      standbyWitnesses = rankStandbyWitnesses();
+      standbyRevertCount = revertCount;
+    }
+    return standbyWitnesses.stream().map(WitnessCapsule::new).collect(Collectors.toList());
+  }
+
+  @Override
+  public synchronized void put(byte[] key, WitnessCapsule item) {
+    if (standbyWitnesses != null) {
+      WitnessCapsule old = get(key);
+      if (old == null || old.getVoteCount() != item.getVoteCount()) {
+        standbyWitnesses = null;
+      }
+    }
+    super.put(key, item);
+  }
+
+  @Override
+  public synchronized void delete(byte[] key) {
+    standbyWitnesses = null;
+    super.delete(key);
+  }
+
+  private List<Witness> rankStandbyWitnesses() {
+    return getAllWitnesses().stream()
+        .sorted(Comparator.comparingLong(WitnessCapsule::getVoteCount).reversed()
+            .thenComparing(Comparator.comparingInt(
+                (WitnessCapsule w) -> w.getAddress().hashCode()).reversed()))
+        .limit(ChainConstant.WITNESS_STANDBY_LENGTH)
+        .map(WitnessCapsule::getInstance)
+        .collect(Collectors.toList());
+  }
 }
@@ -203,6 +203,9 @@ public class CommonParameter {
   public int validateSignThreadNum;
   @Getter
   @Setter
+  public boolean incrementalPendingRevalidation;
+  @Getter
+  @Setter
   public long maintenanceTimeInterval; // (ms)
   @Getter
   @Setter
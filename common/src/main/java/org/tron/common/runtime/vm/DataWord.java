@@ -101,6 +101,15 @@ public class DataWord implements Comparable<DataWord> {
 
   }
 
+  // arithmetic runs on UInt256 limbs, words built from null data keep the BigInteger path
+  private static boolean isWord(byte[] data) {
+    return data.length == WORD_SIZE;
+  }
+
+  private static boolean isWord(byte[] data1, byte[] data2) {
+    return data1.length == WORD_SIZE && data2.length == WORD_SIZE;
+  }
+
   public static String bigIntValue(byte[] data) {
     return new BigInteger(data).toString();
   }
@@ -303,6 +312,14 @@ public class DataWord implements Comparable<DataWord> {
       this.data = ByteUtil.copyToArray(MAX_VALUE);
       return;
     }
+    if (isWord(data)) {
+      byte[] result = new byte[WORD_SIZE];
+      for (int i = 0; i < WORD_SIZE; ++i) {
+        result[i] = (byte) ~data[i];
+      }
+      this.data = result;
+      return;
+    }
     this.data = ByteUtil.copyToArray(MAX_VALUE.subtract(this.value()));
   }
 
@@ -324,15 +341,15 @@ public class DataWord implements Comparable<DataWord> {
     this.data = ByteUtil.copyToArray(result.and(MAX_VALUE));
   }
 
-  // TODO: mul can be done in more efficient way
-  // TODO:     with shift left shift right trick
-  // TODO      without BigInteger quick hack
   public void mul(DataWord word) {
+    if (isWord(data, word.data)) {
+      this.data = UInt256.toBytes(UInt256.mul(UInt256.of(data), UInt256.of(word.data)));
+      return;
+    }
     BigInteger result = value().multiply(word.value());
     this.data = ByteUtil.copyToArray(result.and(MAX_VALUE));
   }
 
-  // TODO: improve with no BigInteger
   public void div(DataWord word) {
 
     if (word.isZero()) {
@@ -340,11 +357,15 @@ public class DataWord implements Comparable<DataWord> {
       return;
     }
 
+    if (isWord(data, word.data)) {
+      this.data = UInt256.toBytes(UInt256.div(UInt256.of(data), UInt256.of(word.data)));
+      return;
+    }
+
     BigInteger result = value().divide(word.value());
     this.data = ByteUtil.copyToArray(result.and(MAX_VALUE));
   }
 
-  // TODO: improve with no BigInteger
   public void sDiv(DataWord word) {
 
     if (word.isZero()) {
@@ -352,23 +373,33 @@ public class DataWord implements Comparable<DataWord> {
       return;
     }
 
+    if (isWord(data, word.data)) {
+      this.data = UInt256.toBytes(UInt256.sdiv(UInt256.of(data), UInt256.of(word.data)));
+      return;
+    }
+
     BigInteger result = sValue().divide(word.sValue());
     this.data = ByteUtil.copyToArray(result.and(MAX_VALUE));
   }
 
-  // TODO: improve with no BigInteger
   public void sub(DataWord word) {
+    if (isWord(data, word.data)) {
+      this.data = UInt256.toBytes(UInt256.sub(UInt256.of(data), UInt256.of(word.data)));
+      return;
+    }
     BigInteger result = value().subtract(word.value());
     this.data = ByteUtil.copyToArray(result.and(MAX_VALUE));
   }
 
-  // TODO: improve with no BigInteger
   public void exp(DataWord word) {
+    if (isWord(data, word.data)) {
+      this.data = UInt256.toBytes(UInt256.exp(UInt256.of(data), UInt256.of(word.data)));
+      return;
+    }
     BigInteger result = value().modPow(word.value(), _2_256);
     this.data = ByteUtil.copyToArray(result);
   }
 
-  // TODO: improve with no BigInteger
   public void mod(DataWord word) {
 
     if (word.isZero()) {
@@ -376,6 +407,11 @@ public class DataWord implements Comparable<DataWord> {
       return;
     }
 
+    if (isWord(data, word.data)) {
+      this.data = UInt256.toBytes(UInt256.mod(UInt256.of(data), UInt256.of(word.data)));
+      return;
+    }
+
     BigInteger result = value().mod(word.value());
     this.data = ByteUtil.copyToArray(result.and(MAX_VALUE));
   }
@@ -387,6 +423,11 @@ public class DataWord implements Comparable<DataWord> {
       return;
     }
 
+    if (isWord(data, word.data)) {
+      this.data = UInt256.toBytes(UInt256.smod(UInt256.of(data), UInt256.of(word.data)));
+      return;
+    }
+
     BigInteger result = sValue().abs().mod(word.sValue().abs());
     result = (sValue().signum() == -1) ? result.negate() : result;
 
@@ -399,6 +440,12 @@ public class DataWord implements Comparable<DataWord> {
       return;
     }
 
+    if (isWord(data, word1.data) && isWord(word2.data)) {
+      this.data = UInt256.toBytes(UInt256.addmod(UInt256.of(data), UInt256.of(word1.data),
+          UInt256.of(word2.data)));
+      return;
+    }
+
     BigInteger result = value().add(word1.value()).mod(word2.value());
     this.data = ByteUtil.copyToArray(result.and(MAX_VALUE));
   }
@@ -410,6 +457,12 @@ public class DataWord implements Comparable<DataWord> {
       return;
     }
 
+    if (isWord(data, word1.data) && isWord(word2.data)) {
+      this.data = UInt256.toBytes(UInt256.mulmod(UInt256.of(data), UInt256.of(word1.data),
+          UInt256.of(word2.data)));
+      return;
+    }
+
     BigInteger result = value().multiply(word1.value()).mod(word2.value());
     this.data = ByteUtil.copyToArray(result.and(MAX_VALUE));
   }
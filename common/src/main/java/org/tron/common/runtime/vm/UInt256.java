@@ -0,0 +1,351 @@
+package org.tron.common.runtime.vm;
+
+/**
+ * 256-bit unsigned arithmetic on four 64-bit limbs, least significant limb first.
+ *
+ * <p>All results are taken modulo 2^256, the same as the BigInteger based operations of
+ * {@link DataWord} they replace. Division works on 32-bit digits (Knuth, algorithm D), so
+ * the intermediate products of addmod and mulmod never leave primitive arrays.
+ */
+final class UInt256 {
+
+  static final int LIMBS = 4;
+  private static final int BYTES = LIMBS * Long.BYTES;
+  private static final long MASK = 0xFFFFFFFFL;
+
+  private UInt256() {
+  }
+
+  /**
+   * Convert a 32 bytes big-endian word into limbs.
+   */
+  static long[] of(byte[] data) {
+    long[] limbs = new long[LIMBS];
+    for (int i = 0; i < LIMBS; i++) {
+      int off = BYTES - (i + 1) * Long.BYTES;
+      long limb = 0;
+      for (int j = 0; j < Long.BYTES; j++) {
+        limb = (limb << 8) | (data[off + j] & 0xFF);
+      }
+      limbs[i] = limb;
+    }
+    return limbs;
+  }
+
+  /**
+   * Convert the lowest four limbs into a new 32 bytes big-endian word.
+   */
+  static byte[] toBytes(long[] limbs) {
+    byte[] data = new byte[BYTES];
+    for (int i = 0; i < LIMBS; i++) {
+      int off = BYTES - (i + 1) * Long.BYTES;
+      long limb = limbs[i];
+      for (int j = Long.BYTES - 1; j >= 0; j--) {
+        data[off + j] = (byte) limb;
+        limb >>>= 8;
+      }
+    }
+    return data;
+  }
+
+  static boolean isZero(long[] a) {
+    return (a[0] | a[1] | a[2] | a[3]) == 0;
+  }
+
+  static boolean isNegative(long[] a) {
+    return a[LIMBS - 1] < 0;
+  }
+
+  static long[] add(long[] a, long[] b) {
+    long[] r = new long[LIMBS];
+    addTo(r, a, b);
+    return r;
+  }
+
+  static long[] sub(long[] a, long[] b) {
+    long[] r = new long[LIMBS];
+    long borrow = 0;
+    for (int i = 0; i < LIMBS; i++) {
+      long d = a[i] - b[i];
+      long nextBorrow = Long.compareUnsigned(a[i], b[i]) < 0 ? 1 : 0;
+      r[i] = d - borrow;
+      if (borrow != 0 && d == 0) {
+        nextBorrow = 1;
+      }
+      borrow = nextBorrow;
+    }
+    return r;
+  }
+
+  static long[] negate(long[] a) {
+    return sub(new long[LIMBS], a);
+  }
+
+  static long[] abs(long[] a) {
+    return isNegative(a) ? negate(a) : a;
+  }
+
+  /**
+   * Low 256 bits of a * b.
+   */
+  static long[] mul(long[] a, long[] b) {
+    long[] r = new long[LIMBS];
+    multiply(r, a, b, LIMBS);
+    return r;
+  }
+
+  static long[] div(long[] a, long[] b) {
+    long[] q = new long[LIMBS];
+    divide(a, b, q, null);
+    return q;
+  }
+
+  static long[] mod(long[] a, long[] b) {
+    long[] r = new long[LIMBS];
+    divide(a, b, null, r);
+    return r;
+  }
+
+  /**
+   * Signed division truncated toward zero, b must not be zero.
+   */
+  static long[] sdiv(long[] a, long[] b) {
+    long[] q = div(abs(a), abs(b));
+    return isNegative(a) != isNegative(b) ? negate(q) : q;
+  }
+
+  /**
+   * Signed remainder taking the sign of a, b must not be zero.
+   */
+  static long[] smod(long[] a, long[] b) {
+    long[] r = mod(abs(a), abs(b));
+    return isNegative(a) ? negate(r) : r;
+  }
+
+  /**
+   * (a + b) mod m without wrapping the sum, m must not be zero.
+   */
+  static long[] addmod(long[] a, long[] b, long[] m) {
+    long[] sum = new long[LIMBS + 1];
+    sum[LIMBS] = addTo(sum, a, b);
+    long[] r = new long[LIMBS];
+    divide(sum, m, null, r);
+    return r;
+  }
+
+  /**
+   * (a * b) mod m without wrapping the product, m must not be zero.
+   */
+  static long[] mulmod(long[] a, long[] b, long[] m) {
+    long[] product = new long[LIMBS * 2];
+    multiply(product, a, b, LIMBS * 2);
+    long[] r = new long[LIMBS];
+    divide(product, m, null, r);
+    return r;
+  }
+
+  /**
+   * a ^ e mod 2^256.
+   */
+  static long[] exp(long[] a, long[] e) {
+    long[] result = {1, 0, 0, 0};
+    int bits = bitLength(e);
+    for (int i = bits - 1; i >= 0; i--) {
+      result = mul(result, result);
+      if ((e[i >>> 6] >>> (i & 63) & 1) != 0) {
+        result = mul(result, a);
+      }
+    }
+    return result;
+  }
+
+  // r = a + b over the lowest four limbs, returns the carry out
+  private static long addTo(long[] r, long[] a, long[] b) {
+    long carry = 0;
+    for (int i = 0; i < LIMBS; i++) {
+      long s = a[i] + b[i];
+      long nextCarry = Long.compareUnsigned(s, a[i]) < 0 ? 1 : 0;
+      r[i] = s + carry;
+      if (carry != 0 && r[i] == 0) {
+        nextCarry = 1;
+      }
+      carry = nextCarry;
+    }
+    return carry;
+  }
+
+  // r = a * b truncated to r.length limbs, r must be zeroed
+  private static void multiply(long[] r, long[] a, long[] b, int limit) {
+    for (int i = 0; i < LIMBS; i++) {
+      long carry = 0;
+      for (int j = 0; j < LIMBS && i + j < limit; j++) {
+        long lo = a[i] * b[j];
+        long hi = multiplyHigh(a[i], b[j]);
+        long s = r[i + j] + lo;
+        if (Long.compareUnsigned(s, lo) < 0) {
+          ++hi;
+        }
+        s += carry;
+        if (Long.compareUnsigned(s, carry) < 0) {
+          ++hi;
+        }
+        r[i + j] = s;
+        carry = hi;
+      }
+      if (i + LIMBS < limit) {
+        r[i + LIMBS] = carry;
+      }
+    }
+  }
+
+  // high 64 bits of the unsigned 128-bit product
+  private static long multiplyHigh(long a, long b) {
+    long aLo = a & MASK;
+    long aHi = a >>> 32;
+    long bLo = b & MASK;
+    long bHi = b >>> 32;
+    long loLo = aLo * bLo;
+    long hiLo = aHi * bLo;
+    long loHi = aLo * bHi;
+    long cross = (loLo >>> 32) + (hiLo & MASK) + loHi;
+    return (hiLo >>> 32) + (cross >>> 32) + aHi * bHi;
+  }
+
+  private static int bitLength(long[] a) {
+    for (int i = LIMBS - 1; i >= 0; i--) {
+      if (a[i] != 0) {
+        return i * Long.SIZE + Long.SIZE - Long.numberOfLeadingZeros(a[i]);
+      }
+    }
+    return 0;
+  }
+
+  /**
+   * Unsigned a / b on any number of limbs, b must not be zero. The quotient and the remainder
+   * are written into the low limbs of q and r when they are not null.
+   */
+  private static void divide(long[] a, long[] b, long[] q, long[] r) {
+    int[] u = digits(a);
+    int[] v = digits(b);
+    int m = significant(u);
+    int n = significant(v);
+    if (m < n) {
+      if (r != null) {
+        System.arraycopy(a, 0, r, 0, r.length);
+      }
+      return;
+    }
+
+    int[] quotient = new int[m - n + 1];
+    int[] remainder = new int[n];
+    if (n == 1) {
+      long divisor = v[0] & MASK;
+      long rem = 0;
+      for (int j = m - 1; j >= 0; j--) {
+        long cur = (rem << 32) | (u[j] & MASK);
+        quotient[j] = (int) Long.divideUnsigned(cur, divisor);
+        rem = Long.remainderUnsigned(cur, divisor);
+      }
+      remainder[0] = (int) rem;
+    } else {
+      knuth(u, v, m, n, quotient, remainder);
+    }
+
+    if (q != null) {
+      fill(q, quotient);
+    }
+    if (r != null) {
+      fill(r, remainder);
+    }
+  }
+
+  // Knuth, The Art of Computer Programming vol. 2, 4.3.1, algorithm D; n >= 2, v[n - 1] != 0
+  private static void knuth(int[] u, int[] v, int m, int n, int[] q, int[] r) {
+    // normalize so that the top digit of the divisor has its highest bit set
+    int s = Integer.numberOfLeadingZeros(v[n - 1]);
+    int[] vn = new int[n];
+    for (int i = n - 1; i > 0; i--) {
+      vn[i] = (v[i] << s) | (int) ((v[i - 1] & MASK) >>> (32 - s));
+    }
+    vn[0] = v[0] << s;
+    int[] un = new int[m + 1];
+    un[m] = (int) ((u[m - 1] & MASK) >>> (32 - s));
+    for (int i = m - 1; i > 0; i--) {
+      un[i] = (u[i] << s) | (int) ((u[i - 1] & MASK) >>> (32 - s));
+    }
+    un[0] = u[0] << s;
+
+    long vTop = vn[n - 1] & MASK;
+    long vNext = vn[n - 2] & MASK;
+    for (int j = m - n; j >= 0; j--) {
+      // estimate the quotient digit from the top two digits, it is at most 2 too large
+      long num = ((un[j + n] & MASK) << 32) | (un[j + n - 1] & MASK);
+      long qhat = Long.divideUnsigned(num, vTop);
+      long rhat = Long.remainderUnsigned(num, vTop);
+      while (qhat > MASK || Long.compareUnsigned(qhat * vNext,
+          (rhat << 32) | (un[j + n - 2] & MASK)) > 0) {
+        --qhat;
+        rhat += vTop;
+        if (rhat > MASK) {
+          break;
+        }
+      }
+
+      // multiply and subtract
+      long borrow = 0;
+      long t;
+      for (int i = 0; i < n; i++) {
+        long p = qhat * (vn[i] & MASK);
+        t = (un[i + j] & MASK) - borrow - (p & MASK);
+        un[i + j] = (int) t;
+        borrow = (p >>> 32) - (t >> 32);
+      }
+      t = (un[j + n] & MASK) - borrow;
+      un[j + n] = (int) t;
+
+      // the estimate was one too large, add back
+      if (t < 0) {
+        --qhat;
+        long carry = 0;
+        for (int i = 0; i < n; i++) {
+          t = (un[i + j] & MASK) + (vn[i] & MASK) + carry;
+          un[i + j] = (int) t;
+          carry = t >>> 32;
+        }
+        un[j + n] += (int) carry;
+      }
+      q[j] = (int) qhat;
+    }
+
+    // unnormalize the remainder
+    for (int i = 0; i < n - 1; i++) {
+      r[i] = (un[i] >>> s) | (int) ((un[i + 1] & MASK) << (32 - s));
+    }
+    r[n - 1] = un[n - 1] >>> s;
+  }
+
+  private static int[] digits(long[] limbs) {
+    int[] digits = new int[limbs.length * 2];
+    for (int i = 0; i < limbs.length; i++) {
+      digits[2 * i] = (int) limbs[i];
+      digits[2 * i + 1] = (int) (limbs[i] >>> 32);
+    }
+    return digits;
+  }
+
+  private static int significant(int[] digits) {
+    int n = digits.length;
+    while (n > 0 && digits[n - 1] == 0) {
+      --n;
+    }
+    return n;
+  }
+
+  private static void fill(long[] limbs, int[] digits) {
+    for (int i = 0; i < limbs.length; i++) {
+      long lo = 2 * i < digits.length ? digits[2 * i] & MASK : 0;
+      long hi = 2 * i + 1 < digits.length ? digits[2 * i + 1] & MASK : 0;
+      limbs[i] = (hi << 32) | lo;
+    }
+  }
+}
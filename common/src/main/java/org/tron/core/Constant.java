@@ -137,6 +137,9 @@ public class Constant {
 
   public static final String NODE_VALIDATE_SIGN_THREAD_NUM = "node.validateSignThreadNum";
 
+  public static final String NODE_INCREMENTAL_PENDING_REVALIDATION =
+      "node.incrementalPendingRevalidation";
+
   public static final String NODE_WALLET_EXTENSION_API = "node.walletExtensionApi";
 
   public static final String NODE_CONNECT_FACTOR = "node.connectFactor";
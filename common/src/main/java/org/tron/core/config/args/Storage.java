@@ -18,6 +18,7 @@ package org.tron.core.config.args;
 import com.typesafe.config.Config;
 import com.typesafe.config.ConfigObject;
 import java.io.File;
+import java.util.HashMap;
 import java.util.Map;
 import java.util.stream.Collectors;
 import lombok.Getter;
@@ -50,6 +51,8 @@ public class Storage {
   private static final String INDEX_SWITCH_CONFIG_KEY = "storage.index.switch";
   private static final String TRANSACTIONHISTORY_SWITCH_CONFIG_KEY = "storage.transHistory.switch";
   private static final String PROPERTIES_CONFIG_KEY = "storage.properties";
+  private static final String READ_CACHE_CONFIG_KEY = "storage.readCache";
+  private static final String ASYNC_FLUSH_CONFIG_KEY = "storage.asyncFlush";
   private static final String DEFAULT_TRANSACTIONHISTORY_SWITCH = "on";
 
   private static final String NAME_CONFIG_KEY = "name";
@@ -113,12 +116,25 @@ public class Storage {
   @Setter
   private String transactionHistorySwitch;
 
+  /**
+   * Flush solidified snapshot layers to the databases in the background
+   */
+  @Getter
+  @Setter
+  private boolean asyncFlush;
+
   /**
    * Key: dbName, Value: Property object of that database
    */
   @Getter
   private Map<String, Property> propertyMap;
 
+  /**
+   * Key: dbName, Value: max entries of the read cache in front of that database
+   */
+  @Getter
+  private Map<String, Long> readCacheSizeMap = new HashMap<>();
+
   public static int getDbVersionFromConfig(final Config config) {
     return config.hasPath(DB_VERSION_CONFIG_KEY)
         ? config.getInt(DB_VERSION_CONFIG_KEY) : DEFAULT_DB_VERSION;
@@ -155,6 +171,10 @@ public class Storage {
         ? config.getString(INDEX_SWITCH_CONFIG_KEY) : DEFAULT_INDEX_SWITCH;
   }
 
+  public static boolean getAsyncFlushFromConfig(final Config config) {
+    return config.hasPath(ASYNC_FLUSH_CONFIG_KEY) && config.getBoolean(ASYNC_FLUSH_CONFIG_KEY);
+  }
+
   public static String getTransactionHistorySwitchFromConfig(final Config config) {
     return config.hasPath(TRANSACTIONHISTORY_SWITCH_CONFIG_KEY)
         ? config.getString(TRANSACTIONHISTORY_SWITCH_CONFIG_KEY)
@@ -298,6 +318,31 @@ public class Storage {
     }
   }
 
+  /**
+   * Set readCacheSizeMap of Storage object from Config
+   *
+   * @param config Config object from "config.conf" file
+   */
+  public void setReadCacheFromConfig(final Config config) {
+    readCacheSizeMap = new HashMap<>();
+    if (config.hasPath(READ_CACHE_CONFIG_KEY)) {
+      ConfigObject conf = config.getObject(READ_CACHE_CONFIG_KEY);
+      for (String dbName : conf.keySet()) {
+        try {
+          readCacheSizeMap.put(dbName,
+              Long.parseLong(conf.get(dbName).unwrapped().toString()));
+        } catch (NumberFormatException e) {
+          throw new IllegalArgumentException(
+              "[storage.readCache] size of " + dbName + " must be Long type.");
+        }
+      }
+    }
+  }
+
+  public long getReadCacheSize(String dbName) {
+    return readCacheSizeMap.getOrDefault(dbName, 0L);
+  }
+
   /**
    * Only for unit test on db
    */
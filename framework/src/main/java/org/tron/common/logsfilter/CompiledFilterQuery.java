@@ -0,0 +1,160 @@
+package org.tron.common.logsfilter;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.spongycastle.util.encoders.Hex;
+import org.tron.common.runtime.vm.DataWord;
+import org.tron.common.utils.Commons;
+
+/**
+ * A FilterQuery prepared for matching: the block range is validated once, and the addresses and
+ * topics are hashed both as strings and as raw bytes, so a trigger is matched with a few set
+ * lookups however long the filter lists are.
+ */
+@Slf4j
+public class CompiledFilterQuery {
+
+  private final boolean valid;
+  private final long fromBlock;
+  private final long toBlock;
+
+  // addresses in lower case, for triggers which only carry the base58 string
+  private final Set<String> addresses = new HashSet<>();
+  // the base58 addresses decoded to 21 byte addresses
+  private final Set<ByteBuffer> rawAddresses = new HashSet<>();
+
+  private final Set<String> topics = new HashSet<>();
+  // the hex topics decoded to the 32 byte words of a log
+  private final Set<ByteBuffer> rawTopics = new HashSet<>();
+
+  private CompiledFilterQuery(FilterQuery filterQuery) {
+    fromBlock = filterQuery.getFromBlock();
+    toBlock = filterQuery.getToBlock();
+    valid = fromBlock != FilterQuery.LATEST_BLOCK_NUM
+        && toBlock != FilterQuery.EARLIEST_BLOCK_NUM;
+    if (!valid) {
+      logger.error("invalid filter: fromBlockNumber: {}, toBlockNumber: {}",
+          fromBlock, toBlock);
+    }
+
+    for (String address : nonEmpty(filterQuery.getContractAddressList())) {
+      addresses.add(address.toLowerCase());
+      byte[] raw = decodeAddress(address);
+      if (raw != null) {
+        rawAddresses.add(ByteBuffer.wrap(raw));
+      }
+    }
+
+    for (String topic : nonEmpty(filterQuery.getContractTopicList())) {
+      topics.add(topic);
+      byte[] raw = decodeTopic(topic);
+      if (raw != null) {
+        rawTopics.add(ByteBuffer.wrap(raw));
+      }
+    }
+  }
+
+  public static CompiledFilterQuery compile(FilterQuery filterQuery) {
+    return new CompiledFilterQuery(filterQuery);
+  }
+
+  public boolean matchBlock(long blockNumber) {
+    if (!valid) {
+      return false;
+    }
+    return (fromBlock == FilterQuery.EARLIEST_BLOCK_NUM || blockNumber >= fromBlock)
+        && (toBlock == FilterQuery.LATEST_BLOCK_NUM || blockNumber <= toBlock);
+  }
+
+  public boolean matchAddress(String address) {
+    if (addresses.isEmpty()) {
+      return true;
+    }
+    return address != null && addresses.contains(address.toLowerCase());
+  }
+
+  /**
+   * Match a 21 byte address without encoding it to base58.
+   */
+  public boolean matchAddress(byte[] address) {
+    if (addresses.isEmpty()) {
+      return true;
+    }
+    return address != null && rawAddresses.contains(ByteBuffer.wrap(address));
+  }
+
+  public boolean hasTopics() {
+    return !topics.isEmpty();
+  }
+
+  public boolean matchTopics(Collection<String> triggerTopics) {
+    if (topics.isEmpty()) {
+      return true;
+    }
+    if (triggerTopics == null) {
+      return false;
+    }
+    for (String topic : triggerTopics) {
+      if (topics.contains(topic)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Match the topics of a log without converting them to hex.
+   */
+  public boolean matchRawTopics(List<DataWord> logTopics) {
+    if (topics.isEmpty()) {
+      return true;
+    }
+    if (logTopics == null) {
+      return false;
+    }
+    for (DataWord topic : logTopics) {
+      if (rawTopics.contains(ByteBuffer.wrap(topic.getData()))) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private static List<String> nonEmpty(List<String> list) {
+    if (list == null) {
+      return Collections.emptyList();
+    }
+    List<String> result = new ArrayList<>(list.size());
+    for (String item : list) {
+      if (StringUtils.isNotEmpty(item)) {
+        result.add(item);
+      }
+    }
+    return result;
+  }
+
+  private static byte[] decodeAddress(String address) {
+    try {
+      return Commons.decodeFromBase58Check(address);
+    } catch (Exception e) {
+      return null;
+    }
+  }
+
+  // only the lower case hex a log topic prints as can match it
+  private static byte[] decodeTopic(String topic) {
+    try {
+      byte[] raw = Hex.decode(topic);
+      return raw.length == 32 && Hex.toHexString(raw).equals(topic) ? raw : null;
+    } catch (Exception e) {
+      return null;
+    }
+  }
+}
@@ -3,12 +3,10 @@ package org.tron.common.logsfilter;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import java.io.File;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Objects;
-import java.util.Set;
-import java.util.stream.Collectors;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.ArrayUtils;
 import org.pf4j.CompoundPluginDescriptorFinder;
 import org.pf4j.DefaultPluginManager;
 import org.pf4j.ManifestPluginDescriptorFinder;
@@ -22,6 +20,8 @@ import org.tron.common.logsfilter.trigger.ContractTrigger;
 import org.tron.common.logsfilter.trigger.SolidityTrigger;
 import org.tron.common.logsfilter.trigger.TransactionLogTrigger;
 import org.tron.common.logsfilter.trigger.Trigger;
+import org.tron.common.runtime.vm.LogInfo;
+import org.tron.core.db.TransactionTrace;
 
 @Slf4j
 public class EventPluginLoader {
@@ -56,6 +56,8 @@ public class EventPluginLoader {
 
   private FilterQuery filterQuery;
 
+  private volatile CompiledFilterQuery compiledFilterQuery;
+
   private boolean useNativeQueue = false;
 
   public static EventPluginLoader getInstance() {
@@ -70,93 +72,34 @@ public class EventPluginLoader {
   }
 
   public static boolean matchFilter(ContractTrigger trigger) {
-    long blockNumber = trigger.getBlockNumber();
-
-    FilterQuery filterQuery = EventPluginLoader.getInstance().getFilterQuery();
-    if (Objects.isNull(filterQuery)) {
-      return true;
-    }
-
-    long fromBlockNumber = filterQuery.getFromBlock();
-    long toBlockNumber = filterQuery.getToBlock();
-
-    boolean matched = false;
-    if (fromBlockNumber == FilterQuery.LATEST_BLOCK_NUM
-        || toBlockNumber == FilterQuery.EARLIEST_BLOCK_NUM) {
-      logger.error("invalid filter: fromBlockNumber: {}, toBlockNumber: {}",
-          fromBlockNumber, toBlockNumber);
-      return false;
-    }
-
-    if (toBlockNumber == FilterQuery.LATEST_BLOCK_NUM) {
-      if (fromBlockNumber == FilterQuery.EARLIEST_BLOCK_NUM) {
-        matched = true;
-      } else {
-        if (blockNumber >= fromBlockNumber) {
-          matched = true;
-        }
-      }
-    } else {
-      if (fromBlockNumber == FilterQuery.EARLIEST_BLOCK_NUM) {
-        if (blockNumber <= toBlockNumber) {
-          matched = true;
-        }
-      } else {
-        if (blockNumber >= fromBlockNumber && blockNumber <= toBlockNumber) {
-          matched = true;
-        }
-      }
-    }
-
-    if (!matched) {
-      return false;
-    }
-
-    return filterContractAddress(trigger, filterQuery.getContractAddressList())
-        && filterContractTopicList(trigger, filterQuery.getContractTopicList());
-  }
-
-  private static boolean filterContractAddress(ContractTrigger trigger, List<String> addressList) {
-    addressList = addressList.stream().filter(item ->
-        org.apache.commons.lang3.StringUtils.isNotEmpty(item))
-        .collect(Collectors.toList());
-    if (Objects.isNull(addressList) || addressList.isEmpty()) {
+    CompiledFilterQuery filter = EventPluginLoader.getInstance().getCompiledFilterQuery();
+    if (Objects.isNull(filter)) {
       return true;
     }
 
-    String contractAddress = trigger.getContractAddress();
-    if (Objects.isNull(contractAddress)) {
+    if (!filter.matchBlock(trigger.getBlockNumber())) {
       return false;
     }
 
-    for (String address : addressList) {
-      if (contractAddress.equalsIgnoreCase(address)) {
-        return true;
-      }
-    }
-    return false;
-  }
-
-  private static boolean filterContractTopicList(ContractTrigger trigger, List<String> topList) {
-    topList = topList.stream().filter(item -> org.apache.commons.lang3.StringUtils.isNotEmpty(item))
-        .collect(Collectors.toList());
-    if (Objects.isNull(topList) || topList.isEmpty()) {
-      return true;
-    }
-
-    Set<String> hset = null;
     if (trigger instanceof ContractLogTrigger) {
-      hset = ((ContractLogTrigger) trigger).getTopicList().stream().collect(Collectors.toSet());
-    } else {
-      hset = new HashSet<>(((ContractEventTrigger) trigger).getTopicMap().values());
+      return filter.matchAddress(trigger.getContractAddress())
+          && filter.matchTopics(((ContractLogTrigger) trigger).getTopicList());
+    }
+    if (trigger instanceof ContractEventTrigger) {
+      return filter.matchAddress(trigger.getContractAddress())
+          && (!filter.hasTopics()
+          || filter.matchTopics(((ContractEventTrigger) trigger).getTopicMap().values()));
     }
 
-    for (String top : topList) {
-      if (hset.contains(top)) {
-        return true;
-      }
+    // a trigger not parsed yet, match its log before any conversion
+    LogInfo logInfo = trigger.getLogInfo();
+    if (Objects.isNull(logInfo)) {
+      return filter.matchAddress(trigger.getContractAddress()) && !filter.hasTopics();
     }
-    return false;
+    byte[] address = logInfo.getAddress();
+    return filter.matchAddress(ArrayUtils.isEmpty(address) ? null
+        : TransactionTrace.convertToTronAddress(address))
+        && filter.matchRawTopics(logInfo.getTopics());
   }
 
   private boolean launchNativeQueue(EventPluginConfig config) {
@@ -483,5 +426,11 @@ public class EventPluginLoader {
 
   public synchronized void setFilterQuery(FilterQuery filterQuery) {
     this.filterQuery = filterQuery;
+    this.compiledFilterQuery =
+        Objects.isNull(filterQuery) ? null : CompiledFilterQuery.compile(filterQuery);
+  }
+
+  public CompiledFilterQuery getCompiledFilterQuery() {
+    return compiledFilterQuery;
   }
 }
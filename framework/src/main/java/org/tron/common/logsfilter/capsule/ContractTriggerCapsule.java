@@ -39,6 +39,11 @@ public class ContractTriggerCapsule extends TriggerCapsule {
 
   @Override
   public void processTrigger() {
+    // filter on the raw log, before the abi lookup and the hex conversion
+    if (!matchFilter(contractTrigger)) {
+      return;
+    }
+
     ContractTrigger event;
     boolean isEvent = false;
     LogInfo logInfo = contractTrigger.getLogInfo();
@@ -125,26 +130,24 @@ public class ContractTriggerCapsule extends TriggerCapsule {
     event.setBlockNumber(contractTrigger.getBlockNumber());
     event.setTimeStamp(contractTrigger.getTimeStamp());
 
-    if (matchFilter(contractTrigger)) {
-      if (isEvent) {
-        if (EventPluginLoader.getInstance().isContractEventTriggerEnable()) {
-          EventPluginLoader.getInstance().postContractEventTrigger((ContractEventTrigger) event);
-        }
+    if (isEvent) {
+      if (EventPluginLoader.getInstance().isContractEventTriggerEnable()) {
+        EventPluginLoader.getInstance().postContractEventTrigger((ContractEventTrigger) event);
+      }
 
-        if (EventPluginLoader.getInstance().isSolidityEventTriggerEnable()) {
-          Args.getSolidityContractEventTriggerList().computeIfAbsent(event
-              .getBlockNumber(), listBlk -> new ArrayList<>()).add((ContractEventTrigger) event);
-        }
+      if (EventPluginLoader.getInstance().isSolidityEventTriggerEnable()) {
+        Args.getSolidityContractEventTriggerList().computeIfAbsent(event
+            .getBlockNumber(), listBlk -> new ArrayList<>()).add((ContractEventTrigger) event);
+      }
 
-      } else {
-        if (EventPluginLoader.getInstance().isContractLogTriggerEnable()) {
-          EventPluginLoader.getInstance().postContractLogTrigger((ContractLogTrigger) event);
-        }
+    } else {
+      if (EventPluginLoader.getInstance().isContractLogTriggerEnable()) {
+        EventPluginLoader.getInstance().postContractLogTrigger((ContractLogTrigger) event);
+      }
 
-        if (EventPluginLoader.getInstance().isSolidityLogTriggerEnable()) {
-          Args.getSolidityContractLogTriggerList().computeIfAbsent(event
-              .getBlockNumber(), listBlk -> new ArrayList<>()).add((ContractLogTrigger) event);
-        }
+      if (EventPluginLoader.getInstance().isSolidityLogTriggerEnable()) {
+        Args.getSolidityContractLogTriggerList().computeIfAbsent(event
+            .getBlockNumber(), listBlk -> new ArrayList<>()).add((ContractLogTrigger) event);
       }
     }
   }
@@ -2,9 +2,12 @@ package org.tron.common.overlay.client;
 
 import io.grpc.ManagedChannel;
 import io.grpc.ManagedChannelBuilder;
+import java.util.List;
 import org.tron.api.DatabaseGrpc;
+import org.tron.api.GrpcAPI.BlockLimit;
 import org.tron.api.GrpcAPI.EmptyMessage;
 import org.tron.api.GrpcAPI.NumberMessage;
+import org.tron.api.WalletGrpc;
 import org.tron.protos.Protocol.Block;
 import org.tron.protos.Protocol.DynamicProperties;
 
@@ -12,12 +15,14 @@ public class DatabaseGrpcClient {
 
   private final ManagedChannel channel;
   private final DatabaseGrpc.DatabaseBlockingStub databaseBlockingStub;
+  private final WalletGrpc.WalletBlockingStub walletBlockingStub;
 
   public DatabaseGrpcClient(String host, int port) {
     channel = ManagedChannelBuilder.forAddress(host, port)
         .usePlaintext(true)
         .build();
     databaseBlockingStub = DatabaseGrpc.newBlockingStub(channel);
+    walletBlockingStub = WalletGrpc.newBlockingStub(channel);
   }
 
   public DatabaseGrpcClient(String host) {
@@ -25,6 +30,7 @@ public class DatabaseGrpcClient {
         .usePlaintext(true)
         .build();
     databaseBlockingStub = DatabaseGrpc.newBlockingStub(channel);
+    walletBlockingStub = WalletGrpc.newBlockingStub(channel);
   }
 
 
@@ -37,6 +43,14 @@ public class DatabaseGrpcClient {
     return databaseBlockingStub.getBlockByNum(builder.build());
   }
 
+  /**
+   * Blocks in [startNum, endNum), the trust node serves at most 100 per call.
+   */
+  public List<Block> getBlocks(long startNum, long endNum) {
+    BlockLimit limit = BlockLimit.newBuilder().setStartNum(startNum).setEndNum(endNum).build();
+    return walletBlockingStub.getBlockByLimitNext(limit).getBlockList();
+  }
+
   public void shutdown() {
     channel.shutdown();
   }
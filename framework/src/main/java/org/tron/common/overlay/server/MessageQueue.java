@@ -1,15 +1,13 @@
 package org.tron.common.overlay.server;
 
+import io.netty.buffer.ByteBuf;
 import io.netty.channel.ChannelFutureListener;
 import io.netty.channel.ChannelHandlerContext;
 import java.util.Queue;
-import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.ConcurrentLinkedQueue;
-import java.util.concurrent.Executors;
-import java.util.concurrent.LinkedBlockingQueue;
-import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.annotation.Scope;
 import org.springframework.stereotype.Component;
@@ -29,56 +27,42 @@ import org.tron.protos.Protocol.ReasonCode;
 @Scope("prototype")
 public class MessageQueue {
 
-  private static ScheduledExecutorService sendTimer =
-      Executors.newSingleThreadScheduledExecutor(r -> new Thread(r, "sendTimer"));
+  // messages written by one run of flushQueue, the rest waits for the next run
+  private static final int MAX_BATCH_SIZE = 1024;
+  // bytes written before a flush inside one run
+  private static final int FLUSH_BYTES = 64 * 1024;
+  private static final long REQUEST_CHECK_INTERVAL = 1_000;
+
   private volatile boolean sendMsgFlag = false;
   private volatile long sendTime;
   private volatile long sendPing;
-  private Thread sendMsgThread;
   private Channel channel;
   private ChannelHandlerContext ctx = null;
   private Queue<MessageRoundTrip> requestQueue = new ConcurrentLinkedQueue<>();
-  private BlockingQueue<Message> msgQueue = new LinkedBlockingQueue<>();
+  private Queue<Message> msgQueue = new ConcurrentLinkedQueue<>();
+  private AtomicBoolean flushScheduled = new AtomicBoolean(false);
   private ScheduledFuture<?> sendTask;
 
 
+  /**
+   * Messages are written on the event loop of the channel, so there is no send thread per peer.
+   * The timer only checks the request waiting for its answer.
+   */
   public void activate(ChannelHandlerContext ctx) {
 
     this.ctx = ctx;
 
     sendMsgFlag = true;
 
-    sendTask = sendTimer.scheduleAtFixedRate(() -> {
+    sendTask = ctx.executor().scheduleWithFixedDelay(() -> {
       try {
-        if (sendMsgFlag) {
-          send();
-        }
+        send();
       } catch (Exception e) {
         logger.error("Unhandled exception", e);
       }
-    }, 10, 10, TimeUnit.MILLISECONDS);
-
-    sendMsgThread = new Thread(() -> {
-      while (sendMsgFlag) {
-        try {
-          if (msgQueue.isEmpty()) {
-            Thread.sleep(10);
-            continue;
-          }
-          Message msg = msgQueue.take();
-          ctx.writeAndFlush(msg.getSendData()).addListener((ChannelFutureListener) future -> {
-            if (!future.isSuccess() && !channel.isDisconnect()) {
-              logger.error("Failed to send to {}, {}", ctx.channel().remoteAddress(), msg);
-            }
-          });
-        } catch (Exception e) {
-          logger.error("Failed to send to {}, error info: {}", ctx.channel().remoteAddress(),
-              e.getMessage());
-        }
-      }
-    });
-    sendMsgThread.setName("sendMsgThread-" + ctx.channel().remoteAddress());
-    sendMsgThread.start();
+    }, REQUEST_CHECK_INTERVAL, REQUEST_CHECK_INTERVAL, TimeUnit.MILLISECONDS);
+
+    scheduleFlush();
   }
 
   public void setChannel(Channel channel) {
@@ -110,8 +94,10 @@ public class MessageQueue {
     sendTime = System.currentTimeMillis();
     if (msg.getAnswerMessage() != null) {
       requestQueue.add(new MessageRoundTrip(msg));
+      scheduleSend();
     } else {
       msgQueue.offer(msg);
+      scheduleFlush();
     }
     return true;
   }
@@ -128,6 +114,7 @@ public class MessageQueue {
         channel.getNodeStatistics().pingMessageLatency
             .add(System.currentTimeMillis() - rt.getTime());
       }
+      scheduleSend();
     }
   }
 
@@ -137,14 +124,47 @@ public class MessageQueue {
       sendTask.cancel(false);
       sendTask = null;
     }
-    if (sendMsgThread != null) {
-      try {
-        sendMsgThread.join(20);
-        sendMsgThread = null;
-      } catch (Exception e) {
-        logger.warn("Join send thread failed, peer {}", ctx.channel().remoteAddress());
+    msgQueue.clear();
+  }
+
+  private void scheduleSend() {
+    if (sendMsgFlag && ctx != null) {
+      ctx.executor().execute(this::send);
+    }
+  }
+
+  private void scheduleFlush() {
+    if (sendMsgFlag && ctx != null && !msgQueue.isEmpty()
+        && flushScheduled.compareAndSet(false, true)) {
+      ctx.executor().execute(this::flushQueue);
+    }
+  }
+
+  // runs on the event loop, writes the queued messages and flushes them together
+  private void flushQueue() {
+    flushScheduled.set(false);
+    int count = 0;
+    int unflushedBytes = 0;
+    Message msg;
+    while (sendMsgFlag && count < MAX_BATCH_SIZE && (msg = msgQueue.poll()) != null) {
+      final Message sent = msg;
+      ByteBuf data = msg.getSendData();
+      unflushedBytes += data.readableBytes();
+      ctx.write(data).addListener((ChannelFutureListener) future -> {
+        if (!future.isSuccess() && !channel.isDisconnect()) {
+          logger.error("Failed to send to {}, {}", ctx.channel().remoteAddress(), sent);
+        }
+      });
+      ++count;
+      if (unflushedBytes >= FLUSH_BYTES || !ctx.channel().isWritable()) {
+        ctx.flush();
+        unflushedBytes = 0;
       }
     }
+    if (unflushedBytes > 0) {
+      ctx.flush();
+    }
+    scheduleFlush();
   }
 
   private boolean needToLog(Message msg) {
@@ -27,17 +27,21 @@ import static org.tron.core.config.Parameter.ChainConstant.WITNESS_STANDBY_LENGT
 import static org.tron.core.config.Parameter.DatabaseConstants.EXCHANGE_COUNT_LIMIT_MAX;
 import static org.tron.core.config.Parameter.DatabaseConstants.PROPOSAL_COUNT_LIMIT_MAX;
 
+import com.google.common.collect.AbstractIterator;
 import com.google.common.collect.ContiguousSet;
 import com.google.common.collect.DiscreteDomain;
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Iterators;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Range;
 import com.google.protobuf.ByteString;
 import com.google.protobuf.InvalidProtocolBufferException;
 import java.security.SignatureException;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -197,6 +201,7 @@ import org.tron.protos.contract.SmartContractOuterClass.TriggerSmartContract;
 @Component
 public class Wallet {
 
+  private static final long BLOCK_STREAM_BATCH = 100;
   private static final String SHIELDED_ID_NOT_ALLOWED = "ShieldedTransactionApi is not allowed";
   private static final String PAYMENT_ADDRESS_FORMAT_WRONG = "paymentAddress format is wrong";
   private static final String BROADCAST_TRANS_FAILED = "Broadcast transaction {} failed, {}.";
@@ -1139,6 +1144,50 @@ public class Wallet {
     return blockListBuilder.build();
   }
 
+  /**
+   * Blocks of [startNum, endNum) up to the head block, read from the block store in batches of
+   * BLOCK_STREAM_BATCH as the iterator advances.
+   */
+  public Iterator<Block> getBlockIterator(long startNum, long endNum) {
+    long end = Math.min(endNum, chainBaseManager.getHeadBlockNum() + 1);
+    return Iterators.concat(new AbstractIterator<Iterator<Block>>() {
+      private long next = Math.max(startNum, 0);
+
+      @Override
+      protected Iterator<Block> computeNext() {
+        if (next >= end) {
+          return endOfData();
+        }
+        long batchEnd = Math.min(next + BLOCK_STREAM_BATCH, end);
+        List<BlockCapsule> blocks = chainBaseManager.getBlockStore()
+            .getLimitNumber(next, batchEnd - next);
+        next = batchEnd;
+        // a gap in the block numbers pulls in blocks of the next batch
+        return blocks.stream().filter(block -> block.getNum() < batchEnd)
+            .map(BlockCapsule::getInstance).iterator();
+      }
+    });
+  }
+
+  /**
+   * Transaction infos of the blocks in [startNum, endNum) up to the head block, read one block
+   * at a time as the iterator advances.
+   */
+  public Iterator<TransactionInfo> getTransactionInfoIterator(long startNum, long endNum) {
+    Iterator<Long> nums = getBlockNums(startNum, endNum);
+    return Iterators.concat(Iterators.transform(nums,
+        num -> getTransactionInfoByBlockNum(num).getTransactionInfoList().iterator()));
+  }
+
+  private Iterator<Long> getBlockNums(long startNum, long endNum) {
+    long end = Math.min(endNum, chainBaseManager.getHeadBlockNum() + 1);
+    if (startNum < 0 || end <= startNum) {
+      return Collections.emptyIterator();
+    }
+    return ContiguousSet.create(Range.closedOpen(startNum, end), DiscreteDomain.longs())
+        .iterator();
+  }
+
   public BlockList getBlockByLatestNum(long getNum) {
     BlockList.Builder blockListBuilder = BlockList.newBuilder();
     chainBaseManager.getBlockStore().getBlockByLatestNum(getNum).forEach(
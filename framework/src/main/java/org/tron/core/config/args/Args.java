@@ -356,7 +356,10 @@ public class Args extends CommonParameter {
                 .filter(StringUtils::isNotEmpty)
                 .orElse(Storage.getTransactionHistorySwitchFromConfig(config)));
 
+    PARAMETER.storage.setAsyncFlush(Storage.getAsyncFlushFromConfig(config));
+
     PARAMETER.storage.setPropertyMapFromConfig(config);
+    PARAMETER.storage.setReadCacheFromConfig(config);
 
     PARAMETER.seedNode = new SeedNode();
     PARAMETER.seedNode.setIpList(Optional.ofNullable(PARAMETER.seedNodes)
@@ -576,6 +579,10 @@ public class Args extends CommonParameter {
             .getInt(Constant.NODE_VALIDATE_SIGN_THREAD_NUM)
             : (Runtime.getRuntime().availableProcessors() + 1) / 2;
 
+    PARAMETER.incrementalPendingRevalidation =
+        config.hasPath(Constant.NODE_INCREMENTAL_PENDING_REVALIDATION)
+            && config.getBoolean(Constant.NODE_INCREMENTAL_PENDING_REVALIDATION);
+
     PARAMETER.walletExtensionApi =
         config.hasPath(Constant.NODE_WALLET_EXTENSION_API)
             && config.getBoolean(Constant.NODE_WALLET_EXTENSION_API);
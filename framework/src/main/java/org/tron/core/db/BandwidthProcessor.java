@@ -361,7 +361,20 @@ public class BandwidthProcessor extends ResourceProcessor {
   }
 
   private boolean useAccountNet(AccountCapsule accountCapsule, long bytes, long now) {
+    if (!chargeAccountNet(accountCapsule, bytes, now)) {
+      return false;
+    }
+
+    chainBaseManager.getAccountStore().put(accountCapsule.createDbKey(), accountCapsule);
+    return true;
+  }
 
+  /**
+   * Charge bytes to the frozen bandwidth of an account at slot now, without saving it.
+   *
+   * @return false if the account does not have that much left
+   */
+  public boolean chargeAccountNet(AccountCapsule accountCapsule, long bytes, long now) {
     long netUsage = accountCapsule.getNetUsage();
     long latestConsumeTime = accountCapsule.getLatestConsumeTime();
     long netLimit = calculateGlobalNetLimit(accountCapsule);
@@ -379,8 +392,6 @@ public class BandwidthProcessor extends ResourceProcessor {
     accountCapsule.setNetUsage(newNetUsage);
     accountCapsule.setLatestOperationTime(latestOperationTime);
     accountCapsule.setLatestConsumeTime(latestConsumeTime);
-
-    chainBaseManager.getAccountStore().put(accountCapsule.createDbKey(), accountCapsule);
     return true;
   }
 
@@ -19,6 +19,7 @@ import java.util.HashSet;
 import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
@@ -89,6 +90,8 @@ import org.tron.core.db.accountstate.TrieService;
 import org.tron.core.db.accountstate.callback.AccountStateCallBack;
 import org.tron.core.db.api.AssetUpdateHelper;
 import org.tron.core.db2.ISession;
+import org.tron.core.db2.common.WrappedByteArray;
+import org.tron.core.db2.core.AccessTracker;
 import org.tron.core.db2.core.Chainbase;
 import org.tron.core.db2.core.ITronChainBase;
 import org.tron.core.db2.core.SnapshotManager;
@@ -152,6 +155,8 @@ public class Manager {
 
   private static final int SHIELDED_TRANS_IN_BLOCK_COUNTS = 1;
   private static final String SAVE_BLOCK = "save block: ";
+  // blocks, about one hour
+  private static final long TX_CACHE_CHECKPOINT_INTERVAL = 1200;
   private final int shieldedTransInPendingMaxCounts =
       Args.getInstance().getShieldedTransInPendingMaxCounts();
   private int maxTransactionPendingSize = Args.getInstance().getMaxTransactionPendingSize();
@@ -186,7 +191,9 @@ public class Manager {
   @Getter
   @Setter
   private TreeBlockIndexStore merkleTreeIndexStore;
-  private ExecutorService validateSignService;
+  private ListeningExecutorService validateSignService;
+  // writes the txs cache checkpoint, so that a restart only replays the blocks after it
+  private ExecutorService txCacheCheckpointService = Executors.newSingleThreadExecutor();
   private boolean isRunRePushThread = true;
   private boolean isRunTriggerCapsuleProcessThread = true;
   private BlockingQueue<TransactionCapsule> pushTransactionQueue = new LinkedBlockingQueue<>();
@@ -209,12 +216,15 @@ public class Manager {
   @Getter
   private ChainBaseManager chainBaseManager;
   // transactions cache
-  private List<TransactionCapsule> pendingTransactions;
+  private PendingPool pendingTransactions;
   @Getter
   private AtomicInteger shieldedTransInPendingCounts = new AtomicInteger(0);
   // transactions popped
   private List<TransactionCapsule> poppedTransactions =
       Collections.synchronizedList(Lists.newArrayList());
+  // blocks taken off the head, what they wrote is undone without going through the stores
+  @Getter
+  private volatile long erasedBlockCount;
   // the capacity is equal to Integer.MAX_VALUE default
   private BlockingQueue<TransactionCapsule> rePushTransactions;
   private BlockingQueue<TriggerCapsule> triggerCapsuleQueue;
@@ -327,7 +337,7 @@ public class Manager {
     return chainBaseManager.getBlockIndexStore();
   }
 
-  public List<TransactionCapsule> getPendingTransactions() {
+  public PendingPool getPendingTransactions() {
     return this.pendingTransactions;
   }
 
@@ -361,7 +371,7 @@ public class Manager {
     this.setMerkleContainer(
         merkleContainer.createInstance(chainBaseManager.getMerkleTreeStore(),
             this.merkleTreeIndexStore));
-    this.pendingTransactions = Collections.synchronizedList(Lists.newArrayList());
+    this.pendingTransactions = new PendingPool();
     this.rePushTransactions = new LinkedBlockingQueue<>();
     this.triggerCapsuleQueue = new LinkedBlockingQueue<>();
     chainBaseManager.setMerkleContainer(getMerkleContainer());
@@ -398,8 +408,8 @@ public class Manager {
 
     initCacheTxs();
     revokingStore.enable();
-    validateSignService = Executors
-        .newFixedThreadPool(Args.getInstance().getValidateSignThreadNum());
+    validateSignService = MoreExecutors.listeningDecorator(Executors
+        .newFixedThreadPool(Args.getInstance().getValidateSignThreadNum()));
     Thread rePushThread = new Thread(rePushLoop);
     rePushThread.start();
     // add contract event listener for subscribing
@@ -515,12 +525,16 @@ public class Manager {
     long start = System.currentTimeMillis();
     long headNum = chainBaseManager.getDynamicPropertiesStore().getLatestBlockHeaderNumber();
     long recentBlockCount = chainBaseManager.getRecentBlockStore().size();
+    long checkpointNum = transactionCache.loadCheckpoint(headNum);
+    long startNum = Math.max(headNum - recentBlockCount + 1, checkpointNum + 1);
+    logger.info("txs cache checkpoint block number:{}, replay from block:{}",
+        checkpointNum, startNum);
     ListeningExecutorService service = MoreExecutors
         .listeningDecorator(Executors.newFixedThreadPool(50));
     List<ListenableFuture<?>> futures = new ArrayList<>();
     AtomicLong blockCount = new AtomicLong(0);
     AtomicLong emptyBlockCount = new AtomicLong(0);
-    LongStream.rangeClosed(headNum - recentBlockCount + 1, headNum).forEach(
+    LongStream.rangeClosed(startNum, headNum).forEach(
         blockNum -> futures.add(service.submit(() -> {
           try {
             blockCount.incrementAndGet();
@@ -656,9 +670,18 @@ public class Manager {
           session.setValue(revokingStore.buildSession());
         }
 
+        boolean recordResult = isRecordPendingResult();
         try (ISession tmpSession = revokingStore.buildSession()) {
-          processTransaction(trx, null);
-          pendingTransactions.add(trx);
+          AccessTracker tracker;
+          if (recordResult) {
+            AccessTracker.start(true);
+          }
+          try {
+            processTransaction(trx, null);
+          } finally {
+            tracker = AccessTracker.stop();
+          }
+          pendingTransactions.add(trx, recordResult ? newPendingResult(trx, tracker) : null);
           tmpSession.merge();
         }
         if (isShieldedTransaction(trx.getInstance())) {
@@ -671,6 +694,50 @@ public class Manager {
     return true;
   }
 
+  private boolean isRecordPendingResult() {
+    return Args.getInstance().isIncrementalPendingRevalidation()
+        && revokingStore instanceof SnapshotManager;
+  }
+
+  private PendingResult newPendingResult(TransactionCapsule trx, AccessTracker tracker) {
+    Contract contract = trx.getInstance().getRawData().getContract(0);
+    long netUsage = trx.getTrxTrace() == null ? 0
+        : trx.getTrxTrace().getReceipt().getNetUsage();
+    return new PendingResult(contract.getType(), TransactionCapsule.getOwner(contract), netUsage,
+        tracker, ((SnapshotManager) revokingStore).getHeadWrites());
+  }
+
+  /**
+   * Apply a pending transaction to the new pending state from its recorded result instead of
+   * executing it again, which is only done if the last blocks wrote nothing it read.
+   *
+   * @return false if the transaction has to be executed again
+   */
+  public synchronized boolean replayPendingTransaction(TransactionCapsule trx,
+      PendingResult result, Map<String, Set<WrappedByteArray>> dirty) {
+    if (result == null || !isRecordPendingResult() || !result.isReplayable(dirty)
+        || trx.getExpiration() <= getDynamicPropertiesStore().getLatestBlockHeaderTimestamp()
+        || containsTransaction(trx)) {
+      return false;
+    }
+
+    if (!session.valid()) {
+      session.setValue(revokingStore.buildSession());
+    }
+    Map<String, Map<WrappedByteArray, WrappedByteArray>> writes = result.rebase(
+        getAccountStore(), new BandwidthProcessor(chainBaseManager),
+        chainBaseManager.getHeadSlot(), chainBaseManager.getHeadBlockTimeStamp());
+    if (writes == null) {
+      return false;
+    }
+    try (ISession tmpSession = revokingStore.buildSession()) {
+      ((SnapshotManager) revokingStore).applyWrites(writes);
+      pendingTransactions.add(trx, result);
+      tmpSession.merge();
+    }
+    return true;
+  }
+
   public void consumeMultiSignFee(TransactionCapsule trx, TransactionTrace trace)
       throws AccountResourceInsufficientException {
     if (trx.getInstance().getSignatureCount() > 1) {
@@ -715,6 +782,7 @@ public class Manager {
       logger.info("start to erase block:" + oldHeadBlock);
       khaosDb.pop();
       revokingStore.fastPop();
+      ++erasedBlockCount;
       logger.info("end to erase block:" + oldHeadBlock);
       poppedTransactions.addAll(oldHeadBlock.getTransactions());
 
@@ -995,6 +1063,10 @@ public class Manager {
     }
 
 
+    if (transactionCache != null && block.getNum() % TX_CACHE_CHECKPOINT_INTERVAL == 0) {
+      txCacheCheckpointService.submit(transactionCache::saveCheckpoint);
+    }
+
     MetricsUtil.meterMark(MetricsKey.BLOCKCHAIN_BLOCK_PROCESS_TIME,
         System.currentTimeMillis() - start);
 
@@ -1157,7 +1229,7 @@ public class Manager {
 
     Set<String> accountSet = new HashSet<>();
     AtomicInteger shieldedTransCounts = new AtomicInteger(0);
-    Iterator<TransactionCapsule> iterator = pendingTransactions.iterator();
+    Iterator<TransactionCapsule> iterator = pendingTransactions.select();
     while (iterator.hasNext() || rePushTransactions.size() > 0) {
       boolean fromPending = false;
       TransactionCapsule trx;
@@ -1174,7 +1246,7 @@ public class Manager {
       }
 
       // check the block size
-      if ((blockCapsule.getInstance().getSerializedSize() + trx.getSerializedSize() + 3)
+      if ((blockCapsule.getSerializedSize() + trx.getSerializedSize() + 3)
           > ChainConstant.BLOCK_SIZE) {
         postponedTrxCount++;
         continue;
@@ -1209,7 +1281,7 @@ public class Manager {
           transactionRetCapsule.addTransactionInfo(result);
         }
         if (fromPending) {
-          iterator.remove();
+          pendingTransactions.remove(trx);
         }
       } catch (Exception e) {
         logger.error("Process trx failed when generating block: {}", e.getMessage());
@@ -1447,6 +1519,15 @@ public class Manager {
 
   public void closeAllStore() {
     logger.info("******** begin to close db ********");
+    txCacheCheckpointService.shutdown();
+    if (transactionCache != null) {
+      try {
+        txCacheCheckpointService.awaitTermination(1, TimeUnit.MINUTES);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+      transactionCache.saveCheckpoint();
+    }
     chainBaseManager.closeAllStore();
     logger.info("******** end to close db ********");
   }
@@ -1494,6 +1575,33 @@ public class Manager {
     }
   }
 
+  /**
+   * Verify the signatures of a batch of inbound transactions in parallel. The result is cached
+   * on each capsule, so pushTransaction does not verify them again under the lock.
+   *
+   * @return the transactions with valid signatures, in their original order
+   */
+  public ListenableFuture<List<TransactionCapsule>> preValidateTransactionSign(
+      List<TransactionCapsule> trxs) {
+    List<ListenableFuture<TransactionCapsule>> futures = new ArrayList<>(trxs.size());
+    for (TransactionCapsule trx : trxs) {
+      futures.add(validateSignService.submit(() -> {
+        try {
+          trx.validateSignature(chainBaseManager.getAccountStore(),
+              chainBaseManager.getDynamicPropertiesStore());
+          return trx;
+        } catch (Exception e) {
+          logger.warn("Trx {} validate signature failed, reason: {}", trx.getTransactionId(),
+              e.getMessage());
+          return null;
+        }
+      }));
+    }
+    return Futures.transform(Futures.allAsList(futures),
+        verified -> verified.stream().filter(Objects::nonNull).collect(Collectors.toList()),
+        MoreExecutors.directExecutor());
+  }
+
   public void rePush(TransactionCapsule tx) {
     if (containsTransaction(tx)) {
       return;
@@ -1,11 +1,18 @@
 package org.tron.core.db;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
+import org.tron.common.utils.Sha256Hash;
 import org.tron.core.capsule.TransactionCapsule;
 import org.tron.core.db.TransactionTrace.TimeResultType;
+import org.tron.core.db2.common.WrappedByteArray;
+import org.tron.core.db2.core.AccessTracker;
 import org.tron.core.metrics.MetricsKey;
 import org.tron.core.metrics.MetricsUtil;
 
@@ -14,34 +21,67 @@ public class PendingManager implements AutoCloseable {
 
   @Getter
   private List<TransactionCapsule> tmpTransactions = new ArrayList<>();
+  // what the pending transactions read and wrote, if incremental re-validation is on
+  private Map<Sha256Hash, PendingResult> results = new HashMap<>();
+  private long erasedBlockCount;
   private Manager dbManager;
   private long timeout = 60_000;
 
   public PendingManager(Manager db) {
     this.dbManager = db;
-    db.getPendingTransactions().forEach(transactionCapsule -> {
-      if (System.currentTimeMillis() - transactionCapsule.getTime() < timeout) {
-        tmpTransactions.add(transactionCapsule);
+    PendingPool pendingPool = db.getPendingTransactions();
+    int expired = pendingPool.removeExpired(System.currentTimeMillis() - timeout);
+    tmpTransactions.addAll(pendingPool.getTransactions());
+    for (TransactionCapsule tx : tmpTransactions) {
+      PendingResult result = pendingPool.getResult(tx.getTransactionId());
+      if (result != null) {
+        results.put(tx.getTransactionId(), result);
       }
-    });
+    }
 
-    if (db.getPendingTransactions().size() > tmpTransactions.size()) {
-      MetricsUtil.meterMark(MetricsKey.BLOCKCHAIN_MISSED_TRANSACTION,
-          db.getPendingTransactions().size() - tmpTransactions.size());
+    if (expired > 0) {
+      MetricsUtil.meterMark(MetricsKey.BLOCKCHAIN_MISSED_TRANSACTION, expired);
     }
 
     db.getPendingTransactions().clear();
     db.getSession().reset();
     db.getShieldedTransInPendingCounts().set(0);
+    if (!results.isEmpty()) {
+      // the keys written by the block are the ones whose readers are executed again
+      erasedBlockCount = db.getErasedBlockCount();
+      AccessTracker.start(false);
+    }
   }
 
   @Override
   public void close() {
-
+    boolean replay = !results.isEmpty();
+    Map<String, Set<WrappedByteArray>> dirty = replay ? AccessTracker.stop().getWrites()
+        : Collections.emptyMap();
+    // a fork switch undid blocks the results were recorded on
+    replay &= erasedBlockCount == dbManager.getErasedBlockCount();
+    int replayed = 0;
     for (TransactionCapsule tx : tmpTransactions) {
+      PendingResult result = results.get(tx.getTransactionId());
+      if (replay && isNormal(tx)
+          && dbManager.replayPendingTransaction(tx, result, dirty)) {
+        ++replayed;
+        continue;
+      }
+      // the later transactions may depend on what this one wrote
+      if (result == null) {
+        replay = false;
+      } else if (replay) {
+        result.addKeys(dirty);
+      }
       txIteration(tx);
     }
+    if (!results.isEmpty()) {
+      logger.info("Pending transactions replayed: {}, re-pushed: {}", replayed,
+          tmpTransactions.size() - replayed);
+    }
     tmpTransactions.clear();
+    results.clear();
 
     for (TransactionCapsule tx : dbManager.getPoppedTransactions()) {
       txIteration(tx);
@@ -49,10 +89,14 @@ public class PendingManager implements AutoCloseable {
     dbManager.getPoppedTransactions().clear();
   }
   
+  private boolean isNormal(TransactionCapsule tx) {
+    return tx.getTrxTrace() != null
+        && tx.getTrxTrace().getTimeResultType().equals(TimeResultType.NORMAL);
+  }
+
   private void txIteration(TransactionCapsule tx) {
     try {
-      if (tx.getTrxTrace() != null
-              && tx.getTrxTrace().getTimeResultType().equals(TimeResultType.NORMAL)) {
+      if (isNormal(tx)) {
         dbManager.getRePushTransactions().put(tx);
       }
     } catch (InterruptedException e) {
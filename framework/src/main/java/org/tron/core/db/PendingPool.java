@@ -0,0 +1,234 @@
+package org.tron.core.db;
+
+import com.google.protobuf.ByteString;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+import org.tron.common.utils.Sha256Hash;
+import org.tron.core.capsule.ReceiptCapsule;
+import org.tron.core.capsule.TransactionCapsule;
+
+/**
+ * Transactions applied to the pending state, waiting to be packed into a block.
+ *
+ * <p>Transactions are indexed by id and by owner, both in arrival order, so adding and removing
+ * a transaction is O(1). Block production takes them through {@link #select()}: the highest
+ * fee first, ties by arrival, while the transactions of one owner keep their arrival order
+ * since a later one may depend on an earlier one.
+ */
+public class PendingPool implements Iterable<TransactionCapsule> {
+
+  private static final Comparator<Cursor> SELECT_ORDER = Comparator
+      .comparingLong((Cursor cursor) -> -cursor.head().priority)
+      .thenComparingLong(cursor -> cursor.head().sequence);
+
+  private final Map<Sha256Hash, Entry> entries = new LinkedHashMap<>();
+  private final Map<ByteString, Map<Sha256Hash, Entry>> owners = new HashMap<>();
+  private long sequence = 0;
+
+  /**
+   * Add a transaction which was just applied to the pending state, its priority is the fee it
+   * paid there.
+   */
+  public void add(TransactionCapsule trx) {
+    add(trx, null);
+  }
+
+  /**
+   * Add a transaction with what applying it to the pending state read and wrote, null if that
+   * was not recorded.
+   */
+  public void add(TransactionCapsule trx, PendingResult result) {
+    add(trx, priorityOf(trx), result);
+  }
+
+  synchronized void add(TransactionCapsule trx, long priority, PendingResult result) {
+    Sha256Hash id = trx.getTransactionId();
+    if (entries.containsKey(id)) {
+      return;
+    }
+    Entry entry = new Entry(trx, id, ownerOf(trx), priority, sequence++, result);
+    entries.put(id, entry);
+    owners.computeIfAbsent(entry.owner, k -> new LinkedHashMap<>()).put(id, entry);
+  }
+
+  public synchronized boolean remove(TransactionCapsule trx) {
+    Entry entry = entries.remove(trx.getTransactionId());
+    if (entry == null) {
+      return false;
+    }
+    removeFromOwner(entry);
+    return true;
+  }
+
+  public synchronized boolean contains(Sha256Hash id) {
+    return entries.containsKey(id);
+  }
+
+  public synchronized TransactionCapsule get(Sha256Hash id) {
+    Entry entry = entries.get(id);
+    return entry == null ? null : entry.trx;
+  }
+
+  public synchronized PendingResult getResult(Sha256Hash id) {
+    Entry entry = entries.get(id);
+    return entry == null ? null : entry.result;
+  }
+
+  /**
+   * Pending transactions of one owner, in arrival order.
+   */
+  public synchronized List<TransactionCapsule> getByOwner(byte[] owner) {
+    Map<Sha256Hash, Entry> queue = owners.get(ByteString.copyFrom(owner));
+    if (queue == null) {
+      return Collections.emptyList();
+    }
+    List<TransactionCapsule> result = new ArrayList<>(queue.size());
+    queue.values().forEach(entry -> result.add(entry.trx));
+    return result;
+  }
+
+  /**
+   * All pending transactions, in arrival order.
+   */
+  public synchronized List<TransactionCapsule> getTransactions() {
+    List<TransactionCapsule> result = new ArrayList<>(entries.size());
+    entries.values().forEach(entry -> result.add(entry.trx));
+    return result;
+  }
+
+  /**
+   * Remove the transactions received at or before deadline.
+   *
+   * @return the number of removed transactions
+   */
+  public synchronized int removeExpired(long deadline) {
+    int count = 0;
+    Iterator<Entry> iterator = entries.values().iterator();
+    while (iterator.hasNext()) {
+      Entry entry = iterator.next();
+      if (entry.trx.getTime() <= deadline) {
+        iterator.remove();
+        removeFromOwner(entry);
+        ++count;
+      }
+    }
+    return count;
+  }
+
+  /**
+   * Transactions in the order block production should try them. It works on a snapshot, so
+   * the selected transactions can be removed while iterating.
+   */
+  public synchronized Iterator<TransactionCapsule> select() {
+    PriorityQueue<Cursor> heads = new PriorityQueue<>(Math.max(1, owners.size()),
+        SELECT_ORDER);
+    owners.values().forEach(queue -> heads.add(new Cursor(new ArrayList<>(queue.values()))));
+    return new Iterator<TransactionCapsule>() {
+      @Override
+      public boolean hasNext() {
+        return !heads.isEmpty();
+      }
+
+      @Override
+      public TransactionCapsule next() {
+        Cursor cursor = heads.poll();
+        if (cursor == null) {
+          throw new NoSuchElementException();
+        }
+        TransactionCapsule trx = cursor.head().trx;
+        if (cursor.advance()) {
+          heads.add(cursor);
+        }
+        return trx;
+      }
+    };
+  }
+
+  public synchronized int size() {
+    return entries.size();
+  }
+
+  public synchronized boolean isEmpty() {
+    return entries.isEmpty();
+  }
+
+  public synchronized void clear() {
+    entries.clear();
+    owners.clear();
+  }
+
+  /**
+   * Snapshot of the pending transactions in arrival order.
+   */
+  @Override
+  public Iterator<TransactionCapsule> iterator() {
+    return getTransactions().iterator();
+  }
+
+  private void removeFromOwner(Entry entry) {
+    Map<Sha256Hash, Entry> queue = owners.get(entry.owner);
+    queue.remove(entry.id);
+    if (queue.isEmpty()) {
+      owners.remove(entry.owner);
+    }
+  }
+
+  private static long priorityOf(TransactionCapsule trx) {
+    if (trx.getTrxTrace() == null) {
+      return 0;
+    }
+    ReceiptCapsule receipt = trx.getTrxTrace().getReceipt();
+    return receipt.getEnergyFee() + receipt.getNetFee();
+  }
+
+  private static ByteString ownerOf(TransactionCapsule trx) {
+    byte[] owner = TransactionCapsule.getOwner(trx.getInstance().getRawData().getContract(0));
+    return owner == null ? ByteString.EMPTY : ByteString.copyFrom(owner);
+  }
+
+  private static class Entry {
+
+    private final TransactionCapsule trx;
+    private final Sha256Hash id;
+    private final ByteString owner;
+    private final long priority;
+    private final long sequence;
+    private final PendingResult result;
+
+    private Entry(TransactionCapsule trx, Sha256Hash id, ByteString owner, long priority,
+        long sequence, PendingResult result) {
+      this.trx = trx;
+      this.id = id;
+      this.owner = owner;
+      this.priority = priority;
+      this.sequence = sequence;
+      this.result = result;
+    }
+  }
+
+  private static class Cursor {
+
+    private final List<Entry> queue;
+    private int index = 0;
+
+    private Cursor(List<Entry> queue) {
+      this.queue = queue;
+    }
+
+    private Entry head() {
+      return queue.get(index);
+    }
+
+    private boolean advance() {
+      return ++index < queue.size();
+    }
+  }
+}
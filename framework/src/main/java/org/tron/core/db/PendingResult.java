@@ -0,0 +1,173 @@
+package org.tron.core.db;
+
+import com.google.common.collect.Sets;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import lombok.Getter;
+import org.tron.core.capsule.AccountCapsule;
+import org.tron.core.db2.common.WrappedByteArray;
+import org.tron.core.db2.core.AccessTracker;
+import org.tron.core.store.AccountStore;
+import org.tron.core.store.DynamicPropertiesStore;
+import org.tron.protos.Protocol.Account;
+import org.tron.protos.Protocol.Transaction.Contract.ContractType;
+
+/**
+ * What applying a transaction to the pending state read and wrote, kept so it can be applied
+ * again after a block without executing the transaction.
+ *
+ * <p>The writes are only still valid if the block wrote none of the keys the transaction read.
+ * The one exception is the latest block timestamp, which every block moves: the transactions
+ * replayed only depend on it through the account fields charged for bandwidth, and those are
+ * charged again at the new head slot, see {@link #rebase}.
+ */
+public class PendingResult {
+
+  private static final String ACCOUNT_DB = "account";
+  private static final String PROPERTIES_DB = "properties";
+  private static final WrappedByteArray BLOCK_TIMESTAMP = WrappedByteArray
+      .of(DynamicPropertiesStore.getLatestBlockHeaderTimestampKey());
+
+  // a transaction writing only these dbs does not depend on anything but what it read
+  private static final Set<String> REPLAYABLE_DBS = Sets.newHashSet(ACCOUNT_DB, "trans",
+      "trans-cache");
+  // contracts which only use the block timestamp for bandwidth and new accounts
+  private static final Set<ContractType> REPLAYABLE_CONTRACTS = EnumSet
+      .of(ContractType.TransferContract, ContractType.TransferAssetContract);
+
+  private final boolean replayableContract;
+  private final WrappedByteArray owner;
+  // bytes charged to the frozen bandwidth of the owner, 0 if it paid otherwise
+  private final long netUsage;
+  @Getter
+  private final Map<String, Map<WrappedByteArray, byte[]>> reads;
+  @Getter
+  private final Set<String> scans;
+  @Getter
+  private final Map<String, Map<WrappedByteArray, WrappedByteArray>> writes;
+
+  public PendingResult(ContractType type, byte[] owner, long netUsage, AccessTracker tracker,
+      Map<String, Map<WrappedByteArray, WrappedByteArray>> writes) {
+    this(type, owner, netUsage, tracker.getReads(), tracker.getScans(), writes);
+  }
+
+  public PendingResult(ContractType type, byte[] owner, long netUsage,
+      Map<String, Map<WrappedByteArray, byte[]>> reads, Set<String> scans,
+      Map<String, Map<WrappedByteArray, WrappedByteArray>> writes) {
+    this.replayableContract = REPLAYABLE_CONTRACTS.contains(type);
+    this.owner = WrappedByteArray.of(owner);
+    this.netUsage = netUsage;
+    this.reads = reads;
+    this.scans = scans;
+    this.writes = writes;
+  }
+
+  /**
+   * Whether the writes are still what executing the transaction again would produce, up to
+   * the bandwidth charge, after a block which wrote dirty.
+   */
+  public boolean isReplayable(Map<String, Set<WrappedByteArray>> dirty) {
+    if (!replayableContract || !REPLAYABLE_DBS.containsAll(writes.keySet())) {
+      return false;
+    }
+
+    // a written account has to be read first, or it did not exist and was created
+    Map<WrappedByteArray, WrappedByteArray> accounts = writes
+        .getOrDefault(ACCOUNT_DB, Collections.emptyMap());
+    Map<WrappedByteArray, byte[]> accountReads = reads
+        .getOrDefault(ACCOUNT_DB, Collections.emptyMap());
+    for (WrappedByteArray account : accounts.keySet()) {
+      byte[] before = accountReads.get(account);
+      if (before == null || before == AccessTracker.UNKNOWN) {
+        return false;
+      }
+    }
+
+    for (Map.Entry<String, Set<WrappedByteArray>> e : dirty.entrySet()) {
+      String db = e.getKey();
+      if (e.getValue().isEmpty()) {
+        continue;
+      }
+      if (scans.contains(db)) {
+        return false;
+      }
+      for (WrappedByteArray key : e.getValue()) {
+        if (PROPERTIES_DB.equals(db) && BLOCK_TIMESTAMP.equals(key)) {
+          continue;
+        }
+        if (reads.getOrDefault(db, Collections.emptyMap()).containsKey(key)
+            || writes.getOrDefault(db, Collections.emptyMap()).containsKey(key)) {
+          return false;
+        }
+      }
+    }
+    return true;
+  }
+
+  /**
+   * The writes moved onto the current state of the accounts: apart from the fields a block
+   * moves with the head slot, an account has to be where the transaction found it. The owner is
+   * charged its bandwidth again at slot now, the other accounts keep their current fields.
+   *
+   * @return null if an account changed or the owner can no longer pay the bandwidth
+   */
+  public Map<String, Map<WrappedByteArray, WrappedByteArray>> rebase(AccountStore accountStore,
+      BandwidthProcessor processor, long now, long headTimestamp) {
+    Map<WrappedByteArray, WrappedByteArray> accounts = writes.get(ACCOUNT_DB);
+    if (accounts == null) {
+      return writes;
+    }
+
+    Map<WrappedByteArray, WrappedByteArray> rebased = new HashMap<>();
+    Map<WrappedByteArray, byte[]> accountReads = reads.get(ACCOUNT_DB);
+    for (Map.Entry<WrappedByteArray, WrappedByteArray> e : accounts.entrySet()) {
+      AccountCapsule current = accountStore.get(e.getKey().getBytes());
+      if (current == null || e.getValue().getBytes() == null) {
+        return null;
+      }
+      Account before = new AccountCapsule(accountReads.get(e.getKey())).getInstance();
+      if (!withoutSlot(current.getInstance()).equals(withoutSlot(before))) {
+        return null;
+      }
+
+      AccountCapsule account = new AccountCapsule(e.getValue().getBytes());
+      account.setNetUsage(current.getNetUsage());
+      account.setLatestConsumeTime(current.getLatestConsumeTime());
+      account.setLatestOperationTime(current.getLatestOperationTime());
+      if (owner.equals(e.getKey())) {
+        account.setLatestOperationTime(headTimestamp);
+        if (netUsage > 0 && !processor.chargeAccountNet(account, netUsage, now)) {
+          return null;
+        }
+      }
+      rebased.put(e.getKey(), WrappedByteArray.of(account.getData()));
+    }
+
+    Map<String, Map<WrappedByteArray, WrappedByteArray>> result = new HashMap<>(writes);
+    result.put(ACCOUNT_DB, rebased);
+    return result;
+  }
+
+  /**
+   * Add the keys the transaction may touch when it is executed again.
+   */
+  public void addKeys(Map<String, Set<WrappedByteArray>> keys) {
+    reads.forEach((db, read) ->
+        keys.computeIfAbsent(db, k -> new HashSet<>()).addAll(read.keySet()));
+    writes.forEach((db, write) ->
+        keys.computeIfAbsent(db, k -> new HashSet<>()).addAll(write.keySet()));
+  }
+
+  // the account without the fields a block moves along with the head slot
+  private static Account withoutSlot(Account account) {
+    return account.toBuilder()
+        .clearNetUsage()
+        .clearLatestConsumeTime()
+        .clearLatestOprationTime()
+        .build();
+  }
+}
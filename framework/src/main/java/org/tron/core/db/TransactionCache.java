@@ -1,16 +1,68 @@
 package org.tron.core.db;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.tron.common.parameter.CommonParameter;
+import org.tron.common.utils.StorageUtils;
 import org.tron.core.capsule.BytesCapsule;
 import org.tron.core.db2.common.TxCacheDB;
+import org.tron.core.db2.core.Chainbase;
+import org.tron.core.db2.core.SnapshotRoot;
 
 @Slf4j
 public class TransactionCache extends TronStoreWithRevoking<BytesCapsule> {
 
+  private static final String CHECKPOINT_FILE = "checkpoint";
+
+  private final String dbName;
+
   @Autowired
   public TransactionCache(@Value("trans-cache") String dbName) {
     super(new TxCacheDB(dbName));
+    this.dbName = dbName;
+  }
+
+  /**
+   * Write the persisted part of the cache to its checkpoint file.
+   */
+  public void saveCheckpoint() {
+    long start = System.currentTimeMillis();
+    try {
+      Path file = getCheckpointFile();
+      Files.createDirectories(file.getParent());
+      long blockNum = getTxCacheDB().checkpoint(file);
+      logger.info("save txs cache checkpoint, block number:{}, cost:{}", blockNum,
+          System.currentTimeMillis() - start);
+    } catch (IOException e) {
+      logger.warn("save txs cache checkpoint failed: {}", e.getMessage());
+    }
+  }
+
+  /**
+   * Load the checkpoint file if it is not newer than headNum.
+   *
+   * @return the block number the checkpoint is complete up to, -1 if nothing is loaded
+   */
+  public long loadCheckpoint(long headNum) {
+    try {
+      return getTxCacheDB().loadCheckpoint(getCheckpointFile(), headNum);
+    } catch (IOException e) {
+      logger.warn("load txs cache checkpoint failed: {}", e.getMessage());
+      return -1;
+    }
+  }
+
+  private TxCacheDB getTxCacheDB() {
+    return (TxCacheDB) ((SnapshotRoot) ((Chainbase) revokingDB).getHead().getRoot()).getDb();
+  }
+
+  private Path getCheckpointFile() {
+    return Paths.get(StorageUtils.getOutputDirectoryByDbName(dbName),
+        CommonParameter.getInstance().getStorage().getDbDirectory(), dbName, CHECKPOINT_FILE);
   }
 }
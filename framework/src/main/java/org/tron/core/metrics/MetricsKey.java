@@ -8,6 +8,10 @@ public class MetricsKey {
   public static final String BLOCKCHAIN_FAIL_FORK_COUNT = "blockchain.failForkCount";
   public static final String BLOCKCHAIN_MISSED_TRANSACTION = "blockchain.missedTransaction";
   public static final String BLOCKCHAIN_DUP_WITNESS = "blockchain.dupWitness.";
+  public static final String DB_READ_CACHE_HIT = "db.readCache.hit.";
+  public static final String DB_READ_CACHE_MISS = "db.readCache.miss.";
+  public static final String VM_JUMPDEST_CACHE_HIT = "vm.jumpdestCache.hit";
+  public static final String VM_JUMPDEST_CACHE_MISS = "vm.jumpdestCache.miss";
   public static final String NET_LATENCY = "net.latency";
   public static final String NET_LATENCY_WITNESS = "net.latency.witness.";
   public static final String NET_DISCONNECTION_COUNT = "net.disconnectionCount";
@@ -15,9 +15,11 @@ import org.springframework.stereotype.Component;
 import org.tron.core.ChainBaseManager;
 import org.tron.core.capsule.BlockCapsule;
 import org.tron.core.db.Manager;
+import org.tron.core.db2.common.ReadCache;
 import org.tron.core.metrics.MetricsKey;
 import org.tron.core.metrics.MetricsUtil;
 import org.tron.core.metrics.net.RateInfo;
+import org.tron.core.vm.program.ProgramPrecompile;
 import org.tron.protos.Protocol;
 
 @Component
@@ -158,6 +160,18 @@ public class BlockChainMetricManager {
     if (block.getTransactions().size() > 0) {
       MetricsUtil.meterMark(MetricsKey.BLOCKCHAIN_TPS, block.getTransactions().size());
     }
+
+    //db read cache
+    for (ReadCache cache : ReadCache.getCaches()) {
+      MetricsUtil.meterMark(MetricsKey.DB_READ_CACHE_HIT + cache.getDbName(),
+          cache.takeHitCount());
+      MetricsUtil.meterMark(MetricsKey.DB_READ_CACHE_MISS + cache.getDbName(),
+          cache.takeMissCount());
+    }
+
+    //vm jump table cache
+    MetricsUtil.meterMark(MetricsKey.VM_JUMPDEST_CACHE_HIT, ProgramPrecompile.takeHitCount());
+    MetricsUtil.meterMark(MetricsKey.VM_JUMPDEST_CACHE_MISS, ProgramPrecompile.takeMissCount());
   }
 
   private List<WitnessInfo> getSrList() {
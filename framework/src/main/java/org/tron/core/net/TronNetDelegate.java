@@ -2,6 +2,7 @@ package org.tron.core.net;
 
 import static org.tron.core.config.Parameter.ChainConstant.BLOCK_PRODUCED_INTERVAL;
 
+import com.google.common.util.concurrent.ListenableFuture;
 import java.util.Collection;
 import java.util.List;
 import java.util.Queue;
@@ -260,6 +261,11 @@ public class TronNetDelegate {
     }
   }
 
+  public ListenableFuture<List<TransactionCapsule>> preValidateTransactionSign(
+      List<TransactionCapsule> trxs) {
+    return dbManager.preValidateTransactionSign(trxs);
+  }
+
   public boolean validBlock(BlockCapsule block) throws P2pException {
     try {
       return witnessScheduleStore.getActiveWitnesses().contains(block.getWitnessAddress())
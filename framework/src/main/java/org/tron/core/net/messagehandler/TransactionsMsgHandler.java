@@ -1,5 +1,12 @@
 package org.tron.core.net.messagehandler;
 
+import com.google.common.util.concurrent.FutureCallback;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.MoreExecutors;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
@@ -7,10 +14,12 @@ import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
+import org.tron.core.capsule.TransactionCapsule;
 import org.tron.core.config.args.Args;
 import org.tron.core.exception.P2pException;
 import org.tron.core.exception.P2pException.TypeEnum;
@@ -46,6 +55,9 @@ public class TransactionsMsgHandler implements TronMsgHandler {
   private ExecutorService trxHandlePool = new ThreadPoolExecutor(threadNum, threadNum, 0L,
       TimeUnit.MILLISECONDS, queue);
 
+  // transactions whose signatures are being verified
+  private AtomicInteger verifyingCount = new AtomicInteger();
+
   private ScheduledExecutorService smartContractExecutor = Executors
       .newSingleThreadScheduledExecutor();
 
@@ -58,24 +70,54 @@ public class TransactionsMsgHandler implements TronMsgHandler {
   }
 
   public boolean isBusy() {
-    return queue.size() + smartContractQueue.size() > MAX_TRX_SIZE;
+    return queue.size() + smartContractQueue.size() + verifyingCount.get() > MAX_TRX_SIZE;
   }
 
   @Override
   public void processMessage(PeerConnection peer, TronMessage msg) throws P2pException {
     TransactionsMessage transactionsMessage = (TransactionsMessage) msg;
     check(peer, transactionsMessage);
+    Map<TransactionCapsule, TransactionMessage> trxs = new LinkedHashMap<>();
     for (Transaction trx : transactionsMessage.getTransactions().getTransactionsList()) {
-      int type = trx.getRawData().getContract(0).getType().getNumber();
-      if (type == ContractType.TriggerSmartContract_VALUE
-          || type == ContractType.CreateSmartContract_VALUE) {
-        if (!smartContractQueue.offer(new TrxEvent(peer, new TransactionMessage(trx)))) {
-          logger.warn("Add smart contract failed, queueSize {}:{}", smartContractQueue.size(),
-              queue.size());
-        }
-      } else {
-        trxHandlePool.submit(() -> handleTransaction(peer, new TransactionMessage(trx)));
+      TransactionMessage trxMsg = new TransactionMessage(trx);
+      if (advService.getMessage(new Item(trxMsg.getMessageId(), InventoryType.TRX)) == null) {
+        trxs.put(trxMsg.getTransactionCapsule(), trxMsg);
+      }
+    }
+    if (trxs.isEmpty()) {
+      return;
+    }
+
+    // verify the whole batch in parallel, only verified transactions reach pushTransaction
+    verifyingCount.addAndGet(trxs.size());
+    Futures.addCallback(tronNetDelegate.preValidateTransactionSign(new ArrayList<>(trxs.keySet())),
+        new FutureCallback<List<TransactionCapsule>>() {
+          @Override
+          public void onSuccess(List<TransactionCapsule> verified) {
+            verifyingCount.addAndGet(-trxs.size());
+            verified.forEach(trx -> dispatch(peer, trxs.get(trx)));
+          }
+
+          @Override
+          public void onFailure(Throwable t) {
+            verifyingCount.addAndGet(-trxs.size());
+            logger.error("Verify trxs {} from peer {} failed.", msg.getMessageId(),
+                peer.getInetAddress(), t);
+          }
+        }, MoreExecutors.directExecutor());
+  }
+
+  private void dispatch(PeerConnection peer, TransactionMessage trx) {
+    int type = trx.getTransactionCapsule().getInstance().getRawData().getContract(0).getType()
+        .getNumber();
+    if (type == ContractType.TriggerSmartContract_VALUE
+        || type == ContractType.CreateSmartContract_VALUE) {
+      if (!smartContractQueue.offer(new TrxEvent(peer, trx))) {
+        logger.warn("Add smart contract failed, queueSize {}:{}", smartContractQueue.size(),
+            queue.size());
       }
+    } else {
+      trxHandlePool.submit(() -> handleTransaction(peer, trx));
     }
   }
 
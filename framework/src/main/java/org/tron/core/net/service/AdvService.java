@@ -12,6 +12,7 @@ import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map.Entry;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
@@ -45,6 +46,11 @@ public class AdvService {
 
   private ConcurrentHashMap<Item, Long> invToFetch = new ConcurrentHashMap<>();
 
+  // peers which announced an item of invToFetch, kept as the inventories arrive
+  private ConcurrentHashMap<Item, Set<PeerConnection>> invHolders = new ConcurrentHashMap<>();
+
+  private final Object fetchLock = new Object();
+
   private ConcurrentHashMap<Item, Long> invToSpread = new ConcurrentHashMap<>();
 
   private Cache<Item, Long> invToFetchCache = CacheBuilder.newBuilder()
@@ -98,6 +104,15 @@ public class AdvService {
   public synchronized void addInvToCache(Item item) {
     invToFetchCache.put(item, System.currentTimeMillis());
     invToFetch.remove(item);
+    invHolders.remove(item);
+  }
+
+  /**
+   * Add an item announced by peer, peer is remembered as a holder to fetch the item from.
+   */
+  public boolean addInv(Item item, PeerConnection peer) {
+    invHolders.computeIfAbsent(item, k -> ConcurrentHashMap.newKeySet()).add(peer);
+    return addInv(item);
   }
 
   public synchronized boolean addInv(Item item) {
@@ -199,10 +214,15 @@ public class AdvService {
 
 
   public void onDisconnect(PeerConnection peer) {
+    invHolders.values().forEach(holders -> holders.remove(peer));
+
     if (!peer.getAdvInvRequest().isEmpty()) {
       peer.getAdvInvRequest().keySet().forEach(item -> {
-        if (tronNetDelegate.getActivePeer().stream()
-            .anyMatch(p -> !p.equals(peer) && p.getAdvInvReceive().getIfPresent(item) != null)) {
+        List<PeerConnection> holders = tronNetDelegate.getActivePeer().stream()
+            .filter(p -> !p.equals(peer) && p.getAdvInvReceive().getIfPresent(item) != null)
+            .collect(Collectors.toList());
+        if (!holders.isEmpty()) {
+          invHolders.computeIfAbsent(item, k -> ConcurrentHashMap.newKeySet()).addAll(holders);
           invToFetch.put(item, System.currentTimeMillis());
         } else {
           invToFetchCache.invalidate(item);
@@ -215,36 +235,64 @@ public class AdvService {
     }
   }
 
-  private synchronized void consumerInvToFetch() {
-    Collection<PeerConnection> peers = tronNetDelegate.getActivePeer().stream()
-        .filter(peer -> peer.isIdle())
-        .collect(Collectors.toList());
+  // does not take the lock of addInv, so inventories keep arriving while fetches are assigned
+  private void consumerInvToFetch() {
+    synchronized (fetchLock) {
+      Set<PeerConnection> peers = tronNetDelegate.getActivePeer().stream()
+          .filter(peer -> peer.isIdle())
+          .collect(Collectors.toSet());
 
-    if (invToFetch.isEmpty() || peers.isEmpty()) {
-      return;
-    }
+      // drop the holders of items which were fetched or never became pending
+      invHolders.keySet().removeIf(item -> !invToFetch.containsKey(item));
 
-    InvSender invSender = new InvSender();
-    long now = System.currentTimeMillis();
-    invToFetch.forEach((item, time) -> {
-      if (time < now - MSG_CACHE_DURATION_IN_BLOCKS * BLOCK_PRODUCED_INTERVAL) {
-        logger.info("This obj is too late to fetch, type: {} hash: {}.", item.getType(),
-            item.getHash());
-        invToFetch.remove(item);
-        invToFetchCache.invalidate(item);
+      if (invToFetch.isEmpty() || peers.isEmpty()) {
         return;
       }
-      peers.stream().filter(peer -> peer.getAdvInvReceive().getIfPresent(item) != null
-          && invSender.getSize(peer) < MAX_TRX_FETCH_PER_PEER)
-          .sorted(Comparator.comparingInt(peer -> invSender.getSize(peer)))
-          .findFirst().ifPresent(peer -> {
-            invSender.add(item, peer);
-            peer.getAdvInvRequest().put(item, now);
-            invToFetch.remove(item);
-          });
-    });
 
-    invSender.sendFetch();
+      InvSender invSender = new InvSender();
+      long now = System.currentTimeMillis();
+      invToFetch.forEach((item, time) -> {
+        if (time < now - MSG_CACHE_DURATION_IN_BLOCKS * BLOCK_PRODUCED_INTERVAL) {
+          logger.info("This obj is too late to fetch, type: {} hash: {}.", item.getType(),
+              item.getHash());
+          invToFetch.remove(item);
+          invHolders.remove(item);
+          invToFetchCache.invalidate(item);
+          return;
+        }
+        PeerConnection peer = selectPeer(item, peers, invSender);
+        if (peer != null) {
+          invSender.add(item, peer);
+          peer.getAdvInvRequest().put(item, now);
+          invToFetch.remove(item);
+          invHolders.remove(item);
+        }
+      });
+
+      invSender.sendFetch();
+    }
+  }
+
+  // the idle holder of item with the fewest fetches assigned in this round
+  private PeerConnection selectPeer(Item item, Set<PeerConnection> idlePeers,
+      InvSender invSender) {
+    Collection<PeerConnection> candidates = invHolders.get(item);
+    if (candidates == null || candidates.isEmpty()) {
+      // announced before its holder was indexed, look at every peer
+      candidates = idlePeers;
+    }
+
+    PeerConnection selected = null;
+    int selectedSize = MAX_TRX_FETCH_PER_PEER;
+    for (PeerConnection peer : candidates) {
+      int size = invSender.getSize(peer);
+      if (size < selectedSize && idlePeers.contains(peer)
+          && peer.getAdvInvReceive().getIfPresent(item) != null) {
+        selected = peer;
+        selectedSize = size;
+      }
+    }
+    return selected;
   }
 
   private synchronized void consumerInvToSpread() {
@@ -278,8 +326,11 @@ public class AdvService {
     private HashMap<PeerConnection, HashMap<InventoryType, LinkedList<Sha256Hash>>> send
         = new HashMap<>();
 
+    private HashMap<PeerConnection, Integer> sizes = new HashMap<>();
+
     public void clear() {
       this.send.clear();
+      this.sizes.clear();
     }
 
     public void add(Entry<Sha256Hash, InventoryType> id, PeerConnection peer) {
@@ -290,6 +341,7 @@ public class AdvService {
         send.get(peer).put(id.getValue(), new LinkedList<>());
       }
       send.get(peer).get(id.getValue()).offer(id.getKey());
+      sizes.merge(peer, 1, Integer::sum);
     }
 
     public void add(Item id, PeerConnection peer) {
@@ -300,13 +352,11 @@ public class AdvService {
         send.get(peer).put(id.getType(), new LinkedList<>());
       }
       send.get(peer).get(id.getType()).offer(id.getHash());
+      sizes.merge(peer, 1, Integer::sum);
     }
 
     public int getSize(PeerConnection peer) {
-      if (send.containsKey(peer)) {
-        return send.get(peer).values().stream().mapToInt(LinkedList::size).sum();
-      }
-      return 0;
+      return sizes.getOrDefault(peer, 0);
     }
 
     public void sendInv() {
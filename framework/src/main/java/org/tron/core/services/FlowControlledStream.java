@@ -0,0 +1,62 @@
+package org.tron.core.services;
+
+import io.grpc.Status;
+import io.grpc.stub.ServerCallStreamObserver;
+import io.grpc.stub.StreamObserver;
+import java.util.Iterator;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Sends the items of a lazily read source to a server streaming call, only as fast as the
+ * client takes them: sending stops when the transport is not ready and resumes from its
+ * ready callback, so at most one transport buffer of items is held in memory.
+ */
+@Slf4j(topic = "API")
+public class FlowControlledStream<T> implements Runnable {
+
+  private final ServerCallStreamObserver<T> observer;
+  private final Iterator<T> source;
+  private boolean done = false;
+
+  private FlowControlledStream(ServerCallStreamObserver<T> observer, Iterator<T> source) {
+    this.observer = observer;
+    this.source = source;
+  }
+
+  /**
+   * Start streaming source to observer, must be called from the rpc method.
+   */
+  public static <T> void start(StreamObserver<T> observer, Iterator<T> source) {
+    FlowControlledStream<T> stream = new FlowControlledStream<>(
+        (ServerCallStreamObserver<T>) observer, source);
+    stream.observer.setOnCancelHandler(stream::cancel);
+    stream.observer.setOnReadyHandler(stream);
+    stream.run();
+  }
+
+  @Override
+  public synchronized void run() {
+    if (done) {
+      return;
+    }
+
+    try {
+      while (observer.isReady()) {
+        if (!source.hasNext()) {
+          done = true;
+          observer.onCompleted();
+          return;
+        }
+        observer.onNext(source.next());
+      }
+    } catch (Exception e) {
+      logger.warn("Stream failed: {}", e.getMessage());
+      done = true;
+      observer.onError(Status.INTERNAL.withDescription(e.getMessage()).asRuntimeException());
+    }
+  }
+
+  private synchronized void cancel() {
+    done = true;
+  }
+}
@@ -1642,6 +1642,13 @@ public class RpcApiService implements Service {
       responseObserver.onCompleted();
     }
 
+    @Override
+    public void getBlockByLimitNextStream(BlockLimit request,
+        StreamObserver<Block> responseObserver) {
+      FlowControlledStream.start(responseObserver,
+          wallet.getBlockIterator(request.getStartNum(), request.getEndNum()));
+    }
+
     @Override
     public void getBlockByLimitNext2(BlockLimit request,
         StreamObserver<BlockListExtention> responseObserver) {
@@ -2282,6 +2289,13 @@ public class RpcApiService implements Service {
 
       responseObserver.onCompleted();
     }
+
+    @Override
+    public void getTransactionInfoByLimitNextStream(BlockLimit request,
+        StreamObserver<TransactionInfo> responseObserver) {
+      FlowControlledStream.start(responseObserver,
+          wallet.getTransactionInfoIterator(request.getStartNum(), request.getEndNum()));
+    }
   }
 
   public class MonitorApi extends MonitorGrpc.MonitorImplBase {
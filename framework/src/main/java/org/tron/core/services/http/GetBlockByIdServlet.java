@@ -46,7 +46,8 @@ public class GetBlockByIdServlet extends RateLimiterServlet {
       throws IOException {
     Block reply = wallet.getBlockById(blockId);
     if (reply != null) {
-      response.getWriter().println(Util.printBlock(reply, visible));
+      Util.printBlock(reply, visible, response.getWriter());
+      response.getWriter().println();
     } else {
       response.getWriter().println("{}");
     }
@@ -49,7 +49,8 @@ public class GetBlockByLimitNextServlet extends RateLimiterServlet {
     if (endNum > 0 && endNum > startNum && endNum - startNum <= BLOCK_LIMIT_NUM) {
       BlockList reply = wallet.getBlocksByLimitNext(startNum, endNum - startNum);
       if (reply != null) {
-        response.getWriter().println(Util.printBlockList(reply, visible));
+        Util.printBlockList(reply, visible, response.getWriter());
+        response.getWriter().println();
         return;
       }
     }
@@ -45,7 +45,8 @@ public class GetBlockByNumServlet extends RateLimiterServlet {
       throws IOException {
     Block reply = wallet.getBlockByNum(num);
     if (reply != null) {
-      response.getWriter().println(Util.printBlock(reply, visible));
+      Util.printBlock(reply, visible, response.getWriter());
+      response.getWriter().println();
     } else {
       response.getWriter().println("{}");
     }
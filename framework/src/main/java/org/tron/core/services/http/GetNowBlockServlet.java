@@ -21,7 +21,8 @@ public class GetNowBlockServlet extends RateLimiterServlet {
       boolean visible = Util.getVisible(request);
       Block reply = wallet.getNowBlock();
       if (reply != null) {
-        response.getWriter().println(Util.printBlock(reply, visible));
+        Util.printBlock(reply, visible, response.getWriter());
+        response.getWriter().println();
       } else {
         response.getWriter().println("{}");
       }
@@ -7,6 +7,7 @@ import com.alibaba.fastjson.JSONArray;
 import com.alibaba.fastjson.JSONObject;
 import com.google.protobuf.Any;
 import com.google.protobuf.ByteString;
+import com.google.protobuf.Descriptors.FieldDescriptor;
 import com.google.protobuf.GeneratedMessageV3;
 import com.google.protobuf.InvalidProtocolBufferException;
 import com.google.protobuf.Message;
@@ -17,6 +18,7 @@ import java.nio.charset.Charset;
 import java.security.InvalidParameterException;
 import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
@@ -71,17 +73,66 @@ public class Util {
   }
 
   public static String printBlockList(BlockList list, boolean selfType) {
-    List<Block> blocks = list.getBlockList();
-    JSONObject jsonObject = JSONObject.parseObject(JsonFormat.printToString(list, selfType));
-    JSONArray jsonArray = new JSONArray();
-    blocks.stream().forEach(block -> jsonArray.add(printBlockToJSON(block, selfType)));
-    jsonObject.put("block", jsonArray);
-
-    return jsonObject.toJSONString();
+    StringBuilder output = new StringBuilder();
+    try {
+      printBlockList(list, selfType, output);
+    } catch (IOException e) {
+      throw new IllegalStateException(e);
+    }
+    return output.toString();
+  }
+
+  /**
+   * Write the JSON of a block list to output in a single pass.
+   */
+  public static void printBlockList(BlockList list, boolean selfType, Appendable output)
+      throws IOException {
+    JsonObjectPrinter printer = new JsonObjectPrinter(output);
+    printer.printFieldsExcept(list, selfType, "block");
+    printer.printName("block");
+    printer.print("[");
+    for (int i = 0; i < list.getBlockCount(); i++) {
+      if (i > 0) {
+        printer.print(",");
+      }
+      printBlock(list.getBlock(i), selfType, output);
+    }
+    printer.print("]");
+    printer.end();
   }
 
   public static String printBlock(Block block, boolean selfType) {
-    return printBlockToJSON(block, selfType).toJSONString();
+    StringBuilder output = new StringBuilder();
+    try {
+      printBlock(block, selfType, output);
+    } catch (IOException e) {
+      throw new IllegalStateException(e);
+    }
+    return output.toString();
+  }
+
+  /**
+   * Write the JSON of a block to output in a single pass, with the same fields as
+   * {@link #printBlockToJSON(Block, boolean)}.
+   */
+  public static void printBlock(Block block, boolean selfType, Appendable output)
+      throws IOException {
+    JsonObjectPrinter printer = new JsonObjectPrinter(output);
+    printer.printName("blockID");
+    printer.printString(ByteArray.toHexString(new BlockCapsule(block).getBlockId().getBytes()));
+    printer.printFieldsExcept(block, selfType, "transactions");
+    if (block.getTransactionsCount() > 0) {
+      printer.printName("transactions");
+      printer.print("[");
+      for (int i = 0; i < block.getTransactionsCount(); i++) {
+        if (i > 0) {
+          printer.print(",");
+        }
+        printTransaction(block.getTransactions(i), selfType, output);
+      }
+      printer.print("]");
+    }
+    printer.end();
   }
 
   public static JSONObject printMapToJSON(HashMap<String, Long> map) {
@@ -116,14 +167,32 @@ public class Util {
   }
 
   public static String printTransactionList(TransactionList list, boolean selfType) {
-    List<Transaction> transactions = list.getTransactionList();
-    JSONObject jsonObject = JSONObject.parseObject(JsonFormat.printToString(list, selfType));
-    JSONArray jsonArray = new JSONArray();
-    transactions.stream()
-        .forEach(transaction -> jsonArray.add(printTransactionToJSON(transaction, selfType)));
-    jsonObject.put(TRANSACTION, jsonArray);
-
-    return jsonObject.toJSONString();
+    StringBuilder output = new StringBuilder();
+    try {
+      printTransactionList(list, selfType, output);
+    } catch (IOException e) {
+      throw new IllegalStateException(e);
+    }
+    return output.toString();
+  }
+
+  /**
+   * Write the JSON of a transaction list to output in a single pass.
+   */
+  public static void printTransactionList(TransactionList list, boolean selfType,
+      Appendable output) throws IOException {
+    JsonObjectPrinter printer = new JsonObjectPrinter(output);
+    printer.printFieldsExcept(list, selfType, TRANSACTION);
+    printer.printName(TRANSACTION);
+    printer.print("[");
+    for (int i = 0; i < list.getTransactionCount(); i++) {
+      if (i > 0) {
+        printer.print(",");
+      }
+      printTransaction(list.getTransaction(i), selfType, output);
+    }
+    printer.print("]");
+    printer.end();
   }
 
   public static JSONArray printTransactionListToJSON(List<TransactionCapsule> list,
@@ -258,6 +327,79 @@ public class Util {
     return jsonTransaction;
   }
 
+  /**
+   * Write the JSON of a transaction to output in a single pass, with the same fields as
+   * {@link #printTransactionToJSON(Transaction, boolean)}.
+   */
+  public static void printTransaction(Transaction transaction, boolean selfType,
+      Appendable output) throws IOException {
+    JsonObjectPrinter printer = new JsonObjectPrinter(output);
+    printer.printFieldsExcept(transaction, selfType, "raw_data");
+
+    byte[] rawData = transaction.getRawData().toByteArray();
+    byte[] contractAddress = null;
+    printer.printName("raw_data");
+    JsonObjectPrinter rawPrinter = new JsonObjectPrinter(output);
+    rawPrinter.printFieldsExcept(transaction.getRawData(), selfType, "contract");
+    rawPrinter.printName("contract");
+    rawPrinter.print("[");
+    boolean first = true;
+    for (Transaction.Contract contract : transaction.getRawData().getContractList()) {
+      Message value;
+      try {
+        Any contractParameter = contract.getParameter();
+        if (contract.getType() == ContractType.CreateSmartContract) {
+          CreateSmartContract deployContract = contractParameter
+              .unpack(CreateSmartContract.class);
+          contractAddress = generateContractAddress(transaction,
+              deployContract.getOwnerAddress().toByteArray());
+          value = deployContract;
+        } else {
+          Class clazz = TransactionFactory.getContract(contract.getType());
+          value = clazz == null ? null : contractParameter.unpack(clazz);
+        }
+      } catch (InvalidProtocolBufferException e) {
+        logger.debug("InvalidProtocolBufferException: {}", e.getMessage());
+        continue;
+      }
+
+      if (!first) {
+        rawPrinter.print(",");
+      }
+      first = false;
+      JsonObjectPrinter contractPrinter = new JsonObjectPrinter(output);
+      contractPrinter.printName("parameter");
+      JsonObjectPrinter parameterPrinter = new JsonObjectPrinter(output);
+      if (value != null) {
+        parameterPrinter.printName(VALUE);
+        JsonFormat.print(value, output, selfType);
+      }
+      parameterPrinter.printName("type_url");
+      parameterPrinter.printString(contract.getParameterOrBuilder().getTypeUrl());
+      parameterPrinter.end();
+      contractPrinter.printName("type");
+      contractPrinter.printString(contract.getType().name());
+      if (contract.getPermissionId() > 0) {
+        contractPrinter.printName(PERMISSION_ID);
+        contractPrinter.print(Integer.toString(contract.getPermissionId()));
+      }
+      contractPrinter.end();
+    }
+    rawPrinter.print("]");
+    rawPrinter.end();
+
+    if (contractAddress != null) {
+      printer.printName("contract_address");
+      printer.printString(ByteArray.toHexString(contractAddress));
+    }
+    printer.printName("raw_data_hex");
+    printer.printString(ByteArray.toHexString(rawData));
+    printer.printName("txID");
+    printer.printString(ByteArray.toHexString(Sha256Hash
+        .hash(CommonParameter.getInstance().isECKeyCryptoEngine(), rawData)));
+    printer.end();
+  }
+
   public static Transaction packTransaction(String strTransaction, boolean selfType) {
     JSONObject jsonTransaction = JSONObject.parseObject(strTransaction);
     JSONObject rawData = jsonTransaction.getJSONObject("raw_data");
@@ -484,4 +626,53 @@ public class Util {
     return address;
   }
 
+
+  /**
+   * Writes the members of one JSON object, the separators are added as they are needed.
+   */
+  private static class JsonObjectPrinter {
+
+    private final JsonFormat.JsonGenerator generator;
+    private boolean empty = true;
+
+    private JsonObjectPrinter(Appendable output) throws IOException {
+      this.generator = new JsonFormat.JsonGenerator(output);
+      generator.print("{");
+    }
+
+    private void printFieldsExcept(Message message, boolean selfType, String skipped)
+        throws IOException {
+      for (Map.Entry<FieldDescriptor, Object> field : message.getAllFields().entrySet()) {
+        if (field.getKey().getName().equals(skipped)) {
+          continue;
+        }
+        separate();
+        JsonFormat.printField(field.getKey(), field.getValue(), generator, selfType);
+      }
+    }
+
+    private void printName(String name) throws IOException {
+      separate();
+      generator.print("\"" + name + "\":");
+    }
+
+    private void printString(String value) throws IOException {
+      generator.print("\"" + JsonFormat.escapeText(value) + "\"");
+    }
+
+    private void print(String text) throws IOException {
+      generator.print(text);
+    }
+
+    private void end() throws IOException {
+      generator.print("}");
+    }
+
+    private void separate() throws IOException {
+      if (!empty) {
+        generator.print(",");
+      }
+      empty = false;
+    }
+  }
 }
@@ -2,6 +2,15 @@ package org.tron.program;
 
 import static org.tron.core.config.Parameter.ChainConstant.BLOCK_PRODUCED_INTERVAL;
 
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.ListeningExecutorService;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.Executors;
 import java.util.concurrent.LinkedBlockingDeque;
 import java.util.concurrent.atomic.AtomicLong;
 import lombok.extern.slf4j.Slf4j;
@@ -29,6 +38,9 @@ import org.tron.protos.Protocol.Block;
 @Slf4j(topic = "app")
 public class SolidityNode {
 
+  // the trust node serves at most this many blocks per getBlockByLimitNext call
+  private static final int BLOCK_BATCH = 100;
+
   private Manager dbManager;
 
   private ChainBaseManager chainBaseManager;
@@ -39,7 +51,15 @@ public class SolidityNode {
 
   private AtomicLong remoteBlockNum = new AtomicLong();
 
-  private LinkedBlockingDeque<Block> blockQueue = new LinkedBlockingDeque(100);
+  private int fetchThreads = Math.max(1, Args.getInstance().getSolidityThreads());
+
+  private ListeningExecutorService fetchService = MoreExecutors.listeningDecorator(
+      Executors.newFixedThreadPool(fetchThreads,
+          new ThreadFactoryBuilder().setNameFormat("solid-fetch-%d").setDaemon(true).build()));
+
+  // fetched batches in block order, each one is fetched and decoded by fetchService
+  private LinkedBlockingDeque<ListenableFuture<List<BlockCapsule>>> blockQueue =
+      new LinkedBlockingDeque<>(fetchThreads);
 
   private int exceptionSleepTime = 1000;
 
@@ -120,6 +140,10 @@ public class SolidityNode {
     }
   }
 
+  /**
+   * Schedule the missing blocks in batches, up to fetchThreads batches are in flight while
+   * processBlock applies the earlier ones.
+   */
   private void getBlock() {
     long blockNum = ID.incrementAndGet();
     while (flag) {
@@ -129,9 +153,14 @@ public class SolidityNode {
           remoteBlockNum.set(getLastSolidityBlockNum());
           continue;
         }
-        Block block = getBlockByNum(blockNum);
-        blockQueue.put(block);
-        blockNum = ID.incrementAndGet();
+        long startNum = blockNum;
+        long endNum = Math.min(startNum + BLOCK_BATCH, remoteBlockNum.get() + 1);
+        blockQueue.put(fetchService.submit(() -> getBlocksByRange(startNum, endNum)));
+        ID.set(endNum - 1);
+        blockNum = endNum;
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return;
       } catch (Exception e) {
         logger.error("Failed to get block {}, reason: {}.", blockNum, e.getMessage());
         sleep(exceptionSleepTime);
@@ -142,8 +171,13 @@ public class SolidityNode {
   private void processBlock() {
     while (flag) {
       try {
-        Block block = blockQueue.take();
-        loopProcessBlock(block);
+        List<BlockCapsule> blocks = blockQueue.take().get();
+        for (BlockCapsule block : blocks) {
+          loopProcessBlock(block);
+        }
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return;
       } catch (Exception e) {
         logger.error(e.getMessage());
         sleep(exceptionSleepTime);
@@ -151,21 +185,67 @@ public class SolidityNode {
     }
   }
 
-  private void loopProcessBlock(Block block) {
+  private void loopProcessBlock(BlockCapsule block) {
     while (flag) {
-      long blockNum = block.getBlockHeader().getRawData().getNumber();
+      long blockNum = block.getNum();
       try {
-        dbManager.pushVerifiedBlock(new BlockCapsule(block));
+        dbManager.pushVerifiedBlock(block);
         chainBaseManager.getDynamicPropertiesStore().saveLatestSolidifiedBlockNum(blockNum);
         logger
             .info("Success to process block: {}, blockQueueSize: {}.", blockNum, blockQueue.size());
         return;
       } catch (Exception e) {
-        logger.error("Failed to process block {}.", new BlockCapsule(block), e);
+        logger.error("Failed to process block {}.", block, e);
         sleep(exceptionSleepTime);
-        block = getBlockByNum(blockNum);
+        block = new BlockCapsule(getBlockByNum(blockNum));
+      }
+    }
+  }
+
+  /**
+   * Fetch and decode the blocks in [startNum, endNum), retrying until the trust node returns
+   * all of them.
+   */
+  private List<BlockCapsule> getBlocksByRange(long startNum, long endNum) {
+    while (flag) {
+      try {
+        long time = System.currentTimeMillis();
+        List<Block> blocks = new ArrayList<>(databaseGrpcClient.getBlocks(startNum, endNum));
+        blocks.sort(Comparator.comparingLong(block -> block.getBlockHeader().getRawData()
+            .getNumber()));
+        if (isRange(blocks, startNum, endNum)) {
+          List<BlockCapsule> result = new ArrayList<>(blocks.size());
+          for (Block block : blocks) {
+            BlockCapsule blockCapsule = new BlockCapsule(block);
+            // the id is cached, hash it here instead of on the apply thread
+            blockCapsule.getBlockId();
+            result.add(blockCapsule);
+          }
+          logger.info("Success to get blocks: [{}, {}), cost: {}ms.",
+              startNum, endNum, System.currentTimeMillis() - time);
+          return result;
+        }
+        logger.warn("Get blocks [{}, {}) incomplete, size: {}.", startNum, endNum,
+            blocks.size());
+      } catch (Exception e) {
+        logger.error("Failed to get blocks: [{}, {}), reason: {}.", startNum, endNum,
+            e.getMessage());
+      }
+      sleep(exceptionSleepTime);
+    }
+    return Collections.emptyList();
+  }
+
+  private static boolean isRange(List<Block> blocks, long startNum, long endNum) {
+    if (blocks.size() != endNum - startNum) {
+      return false;
+    }
+    for (int i = 0; i < blocks.size(); i++) {
+      if (blocks.get(i).getBlockHeader().getRawData().getNumber() != startNum + i) {
+        return false;
       }
     }
+    return true;
   }
 
   private Block getBlockByNum(long blockNum) {
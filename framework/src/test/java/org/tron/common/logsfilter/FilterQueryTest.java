@@ -6,13 +6,20 @@ import static org.tron.common.logsfilter.FilterQuery.parseToBlockNumber;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import org.junit.Assert;
 import org.junit.Test;
+import org.spongycastle.util.encoders.Hex;
 import org.tron.common.logsfilter.capsule.ContractEventTriggerCapsule;
+import org.tron.common.logsfilter.trigger.ContractTrigger;
 import org.tron.common.runtime.LogEventWrapper;
+import org.tron.common.runtime.vm.DataWord;
+import org.tron.common.runtime.vm.LogInfo;
+import org.tron.common.utils.StringUtil;
+import org.tron.core.db.TransactionTrace;
 import org.tron.protos.contract.SmartContractOuterClass.SmartContract.ABI.Entry;
 
 public class FilterQueryTest {
@@ -85,4 +92,36 @@ public class FilterQueryTest {
       Assert.assertEquals(true, matchFilter(capsule.getContractEventTrigger()));
     }
   }
+
+  @Test
+  public synchronized void testMatchRawLog() {
+    byte[] address = new byte[20];
+    address[19] = 1;
+    byte[] topic = new byte[32];
+    topic[31] = 7;
+    ContractTrigger trigger = new ContractTrigger();
+    trigger.setBlockNumber(150L);
+    trigger.setLogInfo(new LogInfo(address,
+        Collections.singletonList(new DataWord(topic)), new byte[0]));
+
+    String base58 = StringUtil.encode58Check(TransactionTrace.convertToTronAddress(address));
+    FilterQuery filterQuery = new FilterQuery();
+    filterQuery.setFromBlock(100);
+    filterQuery.setToBlock(FilterQuery.LATEST_BLOCK_NUM);
+    filterQuery.setContractAddressList(Arrays.asList("", base58));
+    filterQuery.setContractTopicList(Arrays.asList(Hex.toHexString(topic)));
+    EventPluginLoader.getInstance().setFilterQuery(filterQuery);
+    Assert.assertTrue(matchFilter(trigger));
+
+    filterQuery.setContractTopicList(Arrays.asList(Hex.toHexString(new byte[32])));
+    EventPluginLoader.getInstance().setFilterQuery(filterQuery);
+    Assert.assertFalse(matchFilter(trigger));
+
+    filterQuery.setContractTopicList(null);
+    filterQuery.setContractAddressList(Arrays.asList("address1"));
+    EventPluginLoader.getInstance().setFilterQuery(filterQuery);
+    Assert.assertFalse(matchFilter(trigger));
+
+    EventPluginLoader.getInstance().setFilterQuery(null);
+  }
 }
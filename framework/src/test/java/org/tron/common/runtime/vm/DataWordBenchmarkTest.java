@@ -0,0 +1,71 @@
+package org.tron.common.runtime.vm;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.function.BiConsumer;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.Ignore;
+import org.junit.Test;
+
+/**
+ * Cost of the DataWord arithmetic behind each VM opcode, run by hand to compare
+ * implementations.
+ */
+@Slf4j
+@Ignore
+public class DataWordBenchmarkTest {
+
+  private static final int WORDS = 1024;
+  private static final int WARM_UP_ROUNDS = 200;
+  private static final int ROUNDS = 1000;
+
+  private final DataWord[] operands = new DataWord[WORDS];
+
+  private void run(String opcode, BiConsumer<DataWord, DataWord> op) {
+    for (int i = 0; i < WARM_UP_ROUNDS; i++) {
+      round(op);
+    }
+
+    long start = System.nanoTime();
+    long checksum = 0;
+    for (int i = 0; i < ROUNDS; i++) {
+      checksum += round(op);
+    }
+    long cost = (System.nanoTime() - start) / ((long) ROUNDS * WORDS);
+    logger.info("{}: {} ns/op, checksum: {}", opcode, cost, checksum);
+  }
+
+  private long round(BiConsumer<DataWord, DataWord> op) {
+    long checksum = 0;
+    for (int i = 0; i < WORDS; i++) {
+      DataWord word = operands[i].clone();
+      op.accept(word, operands[(i + 1) % WORDS]);
+      checksum += word.getData()[31];
+    }
+    return checksum;
+  }
+
+  @Test
+  public void benchmark() {
+    Random random = new Random(0);
+    for (int i = 0; i < WORDS; i++) {
+      byte[] data = new byte[32];
+      // mix full words with the small values most contracts work on
+      random.nextBytes(data);
+      if (i % 2 == 0) {
+        Arrays.fill(data, 0, 24, (byte) 0);
+      }
+      operands[i] = new DataWord(data);
+    }
+
+    run("MUL", DataWord::mul);
+    run("SUB", DataWord::sub);
+    run("DIV", DataWord::div);
+    run("SDIV", DataWord::sDiv);
+    run("MOD", DataWord::mod);
+    run("SMOD", DataWord::sMod);
+    run("EXP", DataWord::exp);
+    run("ADDMOD", (word, arg) -> word.addmod(arg, operands[7]));
+    run("MULMOD", (word, arg) -> word.mulmod(arg, operands[7]));
+  }
+}
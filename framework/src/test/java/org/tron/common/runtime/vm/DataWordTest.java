@@ -23,6 +23,7 @@ import static org.junit.Assert.assertTrue;
 
 import java.math.BigInteger;
 import java.util.Arrays;
+import java.util.Random;
 import lombok.extern.slf4j.Slf4j;
 import org.junit.Test;
 import org.spongycastle.util.encoders.Hex;
@@ -580,5 +581,121 @@ public class DataWordTest {
     }
   }
 
+  private static final BigInteger MOD_256 = BigInteger.ONE.shiftLeft(256);
+
+  private static byte[] randomWord(Random random) {
+    byte[] data = new byte[32];
+    switch (random.nextInt(6)) {
+      case 0:
+        break;
+      case 1:
+        data[31] = (byte) random.nextInt();
+        break;
+      case 2:
+        Arrays.fill(data, (byte) 0xff);
+        data[31] ^= (byte) random.nextInt(4);
+        break;
+      case 3:
+        data[0] = (byte) 0x80;
+        break;
+      case 4:
+        for (int i = random.nextInt(32); i < 32; i++) {
+          data[i] = (byte) random.nextInt();
+        }
+        break;
+      default:
+        random.nextBytes(data);
+    }
+    return data;
+  }
+
+  private static DataWord word(byte[] data) {
+    return new DataWord(Arrays.copyOf(data, data.length));
+  }
+
+  private static void assertWord(String op, BigInteger expected, DataWord actual) {
+    assertEquals(op, expected.mod(MOD_256), actual.value());
+    assertEquals(op, 32, actual.getData().length);
+  }
+
+  @Test
+  public void testArithmeticAgainstBigInteger() {
+    Random random = new Random(0);
+    for (int i = 0; i < 20_000; i++) {
+      byte[] a = randomWord(random);
+      byte[] b = randomWord(random);
+      byte[] m = randomWord(random);
+      BigInteger ua = new BigInteger(1, a);
+      BigInteger ub = new BigInteger(1, b);
+      BigInteger um = new BigInteger(1, m);
+      BigInteger sa = new BigInteger(a);
+      BigInteger sb = new BigInteger(b);
+      boolean zero = ub.signum() == 0;
+
+      DataWord w = word(a);
+      w.mul(word(b));
+      assertWord("mul", ua.multiply(ub), w);
+
+      w = word(a);
+      w.sub(word(b));
+      assertWord("sub", ua.subtract(ub), w);
+
+      w = word(a);
+      w.bnot();
+      assertWord("not", ua.not(), w);
+
+      w = word(a);
+      w.div(word(b));
+      assertWord("div", zero ? BigInteger.ZERO : ua.divide(ub), w);
+
+      w = word(a);
+      w.sDiv(word(b));
+      assertWord("sdiv", zero ? BigInteger.ZERO : sa.divide(sb), w);
+
+      w = word(a);
+      w.mod(word(b));
+      assertWord("mod", zero ? BigInteger.ZERO : ua.mod(ub), w);
+
+      w = word(a);
+      w.sMod(word(b));
+      BigInteger smod = zero ? BigInteger.ZERO : sa.abs().mod(sb.abs());
+      assertWord("smod", sa.signum() < 0 ? smod.negate() : smod, w);
+
+      w = word(a);
+      w.addmod(word(b), word(m));
+      assertWord("addmod", um.signum() == 0 ? BigInteger.ZERO : ua.add(ub).mod(um), w);
+
+      w = word(a);
+      w.mulmod(word(b), word(m));
+      assertWord("mulmod", um.signum() == 0 ? BigInteger.ZERO : ua.multiply(ub).mod(um), w);
+
+      if (i % 10 == 0) {
+        w = word(a);
+        w.exp(word(b));
+        assertWord("exp", ua.modPow(ub, MOD_256), w);
+      }
+    }
+  }
 
+  @Test
+  public void testDivisionCorrection() {
+    // the first quotient digit estimates of these are too large and must be corrected
+    String[][] cases = {{"7fffffff800000000000000000000000", "800000000000000000000001"},
+        {"800000000000000000000003", "200000000000000000000001"},
+        {"80000000fffffffe00000000", "80000000ffffffff"},
+        {"ffffffffffffffffffffffffffffffffffffffffffffffffffffffffffffffff",
+            "ffffffffffffffffffffffffffffffff00000000000000000000000000000001"}};
+    for (String[] c : cases) {
+      BigInteger a = new BigInteger(c[0], 16);
+      BigInteger b = new BigInteger(c[1], 16);
+
+      DataWord w = new DataWord(c[0]);
+      w.div(new DataWord(c[1]));
+      assertEquals(a.divide(b), w.value());
+
+      w = new DataWord(c[0]);
+      w.mod(new DataWord(c[1]));
+      assertEquals(a.mod(b), w.value());
+    }
+  }
 }
@@ -0,0 +1,58 @@
+package org.tron.common.runtime.vm;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.Ignore;
+import org.junit.Test;
+import org.tron.core.vm.program.Memory;
+
+/**
+ * Memory access pattern of MLOAD/MSTORE/CALLDATACOPY heavy contracts, run by hand to
+ * compare implementations of {@link Memory}.
+ */
+@Slf4j
+@Ignore
+public class MemoryBenchmarkTest {
+
+  private static final int WORD_SIZE = 32;
+  private static final int MEMORY_SIZE = 4 * 1024 * 1024;
+  private static final int CALL_DATA_SIZE = 4 * 1024;
+  private static final int WARM_UP_ROUNDS = 5;
+  private static final int ROUNDS = 20;
+
+  private static long run() {
+    Memory memory = new Memory();
+    byte[] word = new DataWord(0xdeadbeefL).getData();
+    byte[] callData = new byte[CALL_DATA_SIZE];
+    long checksum = 0;
+
+    // MSTORE, growing the memory word by word
+    for (int address = 0; address < MEMORY_SIZE; address += WORD_SIZE) {
+      memory.write(address, word, WORD_SIZE, false);
+    }
+    // CALLDATACOPY, unaligned copies over the whole memory
+    for (int address = 7; address + CALL_DATA_SIZE < MEMORY_SIZE; address += CALL_DATA_SIZE) {
+      memory.extendAndWrite(address, CALL_DATA_SIZE, callData);
+    }
+    // MLOAD, from the end of the memory to the start
+    for (int address = MEMORY_SIZE - WORD_SIZE; address >= 0; address -= WORD_SIZE) {
+      checksum += memory.readWord(address).getData()[WORD_SIZE - 1];
+    }
+    return checksum;
+  }
+
+  @Test
+  public void benchmark() {
+    for (int i = 0; i < WARM_UP_ROUNDS; i++) {
+      run();
+    }
+
+    long checksum = 0;
+    long start = System.nanoTime();
+    for (int i = 0; i < ROUNDS; i++) {
+      checksum += run();
+    }
+    long cost = (System.nanoTime() - start) / ROUNDS / 1_000_000;
+    logger.info("memory size: {}, average cost: {} ms, checksum: {}", MEMORY_SIZE, cost,
+        checksum);
+  }
+}
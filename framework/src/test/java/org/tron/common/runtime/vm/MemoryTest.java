@@ -562,5 +562,26 @@ public class MemoryTest {
     assertTrue(zero == 10);
   }
 
+  @Test
+  public void readWord() {
+    Memory memoryBuffer = new Memory();
 
-}
\ No newline at end of file
+    byte[] data = new byte[CHUNK_SIZE * 2];
+    for (int i = 0; i < data.length; ++i) {
+      data[i] = (byte) i;
+    }
+    memoryBuffer.write(0, data, data.length, false);
+
+    // word aligned, inside one chunk
+    assertArrayEquals(Arrays.copyOfRange(data, 64, 96), memoryBuffer.readWord(64).getData());
+    // crossing the chunk boundary
+    assertArrayEquals(Arrays.copyOfRange(data, CHUNK_SIZE - 16, CHUNK_SIZE + 16),
+        memoryBuffer.readWord(CHUNK_SIZE - 16).getData());
+    assertTrue(memoryBuffer.size() == CHUNK_SIZE * 2);
+
+    // beyond the soft size the memory is extended
+    assertArrayEquals(new byte[WORD_SIZE], memoryBuffer.readWord(CHUNK_SIZE * 2).getData());
+    assertTrue(memoryBuffer.size() == CHUNK_SIZE * 2 + WORD_SIZE);
+    assertTrue(3 == memoryBuffer.getChunks().size());
+  }
+}
@@ -0,0 +1,52 @@
+package org.tron.common.runtime.vm;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.spongycastle.util.encoders.Hex;
+import org.tron.core.vm.program.ProgramPrecompile;
+
+public class ProgramPrecompileTest {
+
+  // JUMPDEST PUSH1 0x5b JUMPDEST PUSH2 0x5b5b STOP JUMPDEST
+  private static final byte[] CODE = Hex.decode("5b605b5b615b5b005b");
+
+  @Test
+  public void testJumpDest() {
+    ProgramPrecompile precompile = ProgramPrecompile.compile(CODE);
+    Assert.assertTrue(precompile.hasJumpDest(0));
+    Assert.assertFalse(precompile.hasJumpDest(2));
+    Assert.assertTrue(precompile.hasJumpDest(3));
+    Assert.assertFalse(precompile.hasJumpDest(5));
+    Assert.assertFalse(precompile.hasJumpDest(6));
+    Assert.assertTrue(precompile.hasJumpDest(8));
+    Assert.assertFalse(precompile.hasJumpDest(9));
+    Assert.assertFalse(precompile.hasJumpDest(-1));
+  }
+
+  @Test
+  public void testCache() {
+    ProgramPrecompile.takeHitCount();
+    ProgramPrecompile.takeMissCount();
+
+    byte[] code = Hex.decode("60005b5b");
+    ProgramPrecompile first = ProgramPrecompile.getInstance(code);
+    ProgramPrecompile second = ProgramPrecompile.getInstance(code.clone());
+    Assert.assertSame(first, second);
+    Assert.assertTrue(second.hasJumpDest(3));
+    Assert.assertEquals(1, ProgramPrecompile.takeHitCount());
+    Assert.assertEquals(1, ProgramPrecompile.takeMissCount());
+
+    Assert.assertFalse(ProgramPrecompile.getInstance(new byte[0]).hasJumpDest(0));
+  }
+
+  @Test
+  public void testOwnJumpTable() {
+    // the cache is keyed by the hash of the code itself, never by a hash stored with a
+    // contract, so code that differs by one byte does not share a jump table
+    byte[] code = Hex.decode("5b600056");
+    byte[] other = Hex.decode("00600056");
+    Assert.assertTrue(ProgramPrecompile.getInstance(code).hasJumpDest(0));
+    Assert.assertFalse(ProgramPrecompile.getInstance(other).hasJumpDest(0));
+    Assert.assertTrue(ProgramPrecompile.getInstance(code.clone()).hasJumpDest(0));
+  }
+}
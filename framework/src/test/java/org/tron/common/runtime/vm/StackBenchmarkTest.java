@@ -0,0 +1,65 @@
+package org.tron.common.runtime.vm;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.Ignore;
+import org.junit.Test;
+import org.tron.core.vm.program.Stack;
+
+/**
+ * Stack traffic of the fibonacci loop in TimeBenchmarkTest (PUSH, DUP, SWAP, POP and an
+ * arithmetic op per step), run by hand to compare the operand stack with java.util.Stack.
+ */
+@Slf4j
+@Ignore
+public class StackBenchmarkTest {
+
+  private static final int DEPTH = 16;
+  private static final int STEPS = 10_000_000;
+  private static final int ROUNDS = 5;
+
+  private static long runStack() {
+    Stack stack = new Stack();
+    for (int i = 0; i < DEPTH; i++) {
+      stack.push(new DataWord(i));
+    }
+    long start = System.nanoTime();
+    for (int i = 0; i < STEPS; i++) {
+      stack.push(stack.get(stack.size() - 2).clone());
+      stack.swap(stack.size() - 1, stack.size() - 3);
+      DataWord word = stack.pop();
+      word.add(stack.peek());
+      stack.push(word);
+      stack.pop();
+    }
+    return System.nanoTime() - start;
+  }
+
+  private static long runJavaStack() {
+    java.util.Stack<DataWord> stack = new java.util.Stack<>();
+    for (int i = 0; i < DEPTH; i++) {
+      stack.push(new DataWord(i));
+    }
+    long start = System.nanoTime();
+    for (int i = 0; i < STEPS; i++) {
+      stack.push(stack.get(stack.size() - 2).clone());
+      int from = stack.size() - 1;
+      int to = stack.size() - 3;
+      stack.set(from, stack.set(to, stack.get(from)));
+      DataWord word = stack.pop();
+      word.add(stack.peek());
+      stack.push(word);
+      stack.pop();
+    }
+    return System.nanoTime() - start;
+  }
+
+  @Test
+  public void benchmark() {
+    for (int i = 0; i < ROUNDS; i++) {
+      long before = runJavaStack();
+      long after = runStack();
+      logger.info("round {}, java.util.Stack: {} ns/step, Stack: {} ns/step", i,
+          (double) before / STEPS, (double) after / STEPS);
+    }
+  }
+}
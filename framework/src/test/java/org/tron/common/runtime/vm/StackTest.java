@@ -0,0 +1,77 @@
+package org.tron.common.runtime.vm;
+
+import java.util.ArrayList;
+import java.util.EmptyStackException;
+import java.util.List;
+import org.junit.Assert;
+import org.junit.Test;
+import org.tron.core.vm.program.Stack;
+import org.tron.core.vm.program.listener.ProgramListenerAdaptor;
+
+public class StackTest {
+
+  @Test
+  public void testPushPop() {
+    Stack stack = new Stack();
+    for (int i = 0; i < Stack.MAX_SIZE; i++) {
+      stack.push(new DataWord(i));
+    }
+    Assert.assertEquals(Stack.MAX_SIZE, stack.size());
+    Assert.assertEquals(new DataWord(Stack.MAX_SIZE - 1), stack.peek());
+    Assert.assertEquals(new DataWord(1), stack.get(1));
+
+    for (int i = Stack.MAX_SIZE - 1; i >= 0; i--) {
+      Assert.assertEquals(new DataWord(i), stack.pop());
+    }
+    Assert.assertTrue(stack.isEmpty());
+    Assert.assertEquals(new Stack(), stack);
+  }
+
+  @Test(expected = EmptyStackException.class)
+  public void testPopEmpty() {
+    new Stack().pop();
+  }
+
+  @Test(expected = ArrayIndexOutOfBoundsException.class)
+  public void testGetAboveTop() {
+    Stack stack = new Stack();
+    stack.push(new DataWord(1));
+    stack.pop();
+    stack.get(0);
+  }
+
+  @Test
+  public void testSwap() {
+    List<String> events = new ArrayList<>();
+    Stack stack = new Stack();
+    stack.setProgramListener(new ProgramListenerAdaptor() {
+      @Override
+      public void onStackSwap(int from, int to) {
+        events.add("swap " + from + " " + to);
+      }
+
+      @Override
+      public void onStackPush(DataWord value) {
+        events.add("push " + value.intValue());
+      }
+
+      @Override
+      public void onStackPop() {
+        events.add("pop");
+      }
+    });
+
+    DataWord bottom = new DataWord(1);
+    DataWord top = new DataWord(2);
+    stack.push(bottom);
+    stack.push(top);
+    stack.swap(0, 1);
+    stack.swap(0, 2);
+    Assert.assertSame(top, stack.get(0));
+    Assert.assertSame(bottom, stack.pop());
+
+    Assert.assertEquals(4, events.size());
+    Assert.assertEquals("swap 0 1", events.get(2));
+    Assert.assertEquals("pop", events.get(3));
+  }
+}
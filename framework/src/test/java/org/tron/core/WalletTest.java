@@ -53,10 +53,12 @@ import org.tron.core.capsule.ExchangeCapsule;
 import org.tron.core.capsule.ProposalCapsule;
 import org.tron.core.capsule.TransactionCapsule;
 import org.tron.core.capsule.TransactionInfoCapsule;
+import org.tron.core.capsule.TransactionRetCapsule;
 import org.tron.core.capsule.WitnessCapsule;
 import org.tron.core.config.DefaultConfig;
 import org.tron.core.config.args.Args;
 import org.tron.core.store.DynamicPropertiesStore;
+import org.tron.core.store.TransactionRetStore;
 import org.tron.core.utils.ProposalUtil.ProposalType;
 import org.tron.core.utils.TransactionUtil;
 import org.tron.protos.Protocol;
@@ -369,6 +371,59 @@ public class WalletTest {
     Assert.assertFalse("getBlocksByLimit8", blocksByLimit.getBlockList().contains(block5));
   }
 
+  @Test
+  public void getBlockIterator() {
+    List<Block> blocks = new ArrayList<>();
+    wallet.getBlockIterator(1, 4).forEachRemaining(blocks::add);
+    Assert.assertEquals(Arrays.asList(block1, block2, block3), blocks);
+
+    blocks.clear();
+    wallet.getBlockIterator(4, 100).forEachRemaining(blocks::add);
+    Assert.assertEquals(Arrays.asList(block4, block5), blocks);
+    Assert.assertFalse(wallet.getBlockIterator(3, 3).hasNext());
+  }
+
+  @Test
+  public void getTransactionInfoIterator() {
+    TransactionInfo info1 = TransactionInfo.newBuilder().setBlockNumber(BLOCK_NUM_ONE)
+        .setId(ByteString.copyFromUtf8("info1")).build();
+    TransactionInfo info2 = TransactionInfo.newBuilder().setBlockNumber(BLOCK_NUM_ONE)
+        .setId(ByteString.copyFromUtf8("info2")).build();
+    TransactionInfo info3 = TransactionInfo.newBuilder().setBlockNumber(BLOCK_NUM_THREE)
+        .setId(ByteString.copyFromUtf8("info3")).build();
+    TransactionRetCapsule ret1 = new TransactionRetCapsule(new BlockCapsule(block1));
+    ret1.addTransactionInfo(info1);
+    ret1.addTransactionInfo(info2);
+    // block 2 has no infos
+    TransactionRetCapsule ret2 = new TransactionRetCapsule(new BlockCapsule(block2));
+    TransactionRetCapsule ret3 = new TransactionRetCapsule(new BlockCapsule(block3));
+    ret3.addTransactionInfo(info3);
+    TransactionRetStore retStore = chainBaseManager.getTransactionRetStore();
+    retStore.put(ByteArray.fromLong(BLOCK_NUM_ONE), ret1);
+    retStore.put(ByteArray.fromLong(BLOCK_NUM_TWO), ret2);
+    retStore.put(ByteArray.fromLong(BLOCK_NUM_THREE), ret3);
+
+    try {
+      List<TransactionInfo> infos = new ArrayList<>();
+      wallet.getTransactionInfoIterator(BLOCK_NUM_ONE, BLOCK_NUM_FOUR)
+          .forEachRemaining(infos::add);
+      Assert.assertEquals(Arrays.asList(info1, info2, info3), infos);
+
+      infos.clear();
+      wallet.getTransactionInfoIterator(BLOCK_NUM_TWO, BLOCK_NUM_FOUR)
+          .forEachRemaining(infos::add);
+      Assert.assertEquals(Arrays.asList(info3), infos);
+      Assert.assertFalse(
+          wallet.getTransactionInfoIterator(BLOCK_NUM_TWO, BLOCK_NUM_THREE).hasNext());
+      Assert.assertFalse(
+          wallet.getTransactionInfoIterator(BLOCK_NUM_THREE, BLOCK_NUM_THREE).hasNext());
+    } finally {
+      retStore.delete(ByteArray.fromLong(BLOCK_NUM_ONE));
+      retStore.delete(ByteArray.fromLong(BLOCK_NUM_TWO));
+      retStore.delete(ByteArray.fromLong(BLOCK_NUM_THREE));
+    }
+  }
+
   @Test
   public void getTransactionInfoById() {
     TransactionInfo transactionById1 = wallet.getTransactionInfoById(
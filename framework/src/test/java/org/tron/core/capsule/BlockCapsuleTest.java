@@ -15,6 +15,7 @@ import org.tron.core.Constant;
 import org.tron.core.Wallet;
 import org.tron.core.config.args.Args;
 import org.tron.core.exception.BadItemException;
+import org.tron.protos.Protocol.Block;
 import org.tron.protos.Protocol.Transaction.Contract.ContractType;
 import org.tron.protos.contract.BalanceContract.TransferContract;
 
@@ -93,6 +94,56 @@ public class BlockCapsuleTest {
         blockCapsule0.getTransactions().get(0).getInstance().getRawData().getVout(0).getValue());
   } */
 
+  @Test
+  public void testSerializedSize() {
+    BlockCapsule blockCapsule = new BlockCapsule(2, Sha256Hash.ZERO_HASH, 1234,
+        ByteString.copyFrom("1234567".getBytes()));
+    Assert.assertEquals(blockCapsule.getInstance().getSerializedSize(),
+        blockCapsule.getSerializedSize());
+
+    for (long i = 1; i <= 100; i++) {
+      TransferContract transferContract = TransferContract.newBuilder()
+          .setAmount(i)
+          .setOwnerAddress(ByteString.copyFrom("0x0000000000000000000".getBytes()))
+          .setToAddress(ByteString.copyFrom(ByteArray.fromHexString(
+              (Wallet.getAddressPreFixString() + "A389132D6639FBDA4FBC8B659264E6B7C90DB086"))))
+          .build();
+      blockCapsule
+          .addTransaction(new TransactionCapsule(transferContract, ContractType.TransferContract));
+    }
+    long size = blockCapsule.getSerializedSize();
+    Assert.assertEquals(blockCapsule.getInstance().getSerializedSize(), size);
+    Assert.assertEquals(100, blockCapsule.getInstance().getTransactionsCount());
+    Assert.assertEquals(size, blockCapsule.getData().length);
+  }
+
+  @Test
+  public void testPackWithoutRebuild() {
+    BlockCapsule blockCapsule = new BlockCapsule(2, Sha256Hash.ZERO_HASH, 1234,
+        ByteString.copyFrom("1234567".getBytes()));
+    blockCapsule.addTransaction(new TransactionCapsule(TransferContract.newBuilder()
+        .setAmount(1).build(), ContractType.TransferContract));
+    Block.Builder builder = blockCapsule.getBlockBuilder();
+    Assert.assertNotNull(builder);
+
+    for (long i = 2; i <= 100; i++) {
+      // what the vm and the transaction info read from the block for each contract transaction
+      Assert.assertEquals(2, blockCapsule.getBlockHeader().getRawData().getNumber());
+      Assert.assertEquals(1234, blockCapsule.getBlockHeader().getRawData().getTimestamp());
+      Assert.assertFalse(blockCapsule.hasWitnessSignature());
+      blockCapsule.getNum();
+      blockCapsule.getTimeStamp();
+      blockCapsule.getSerializedSize();
+
+      blockCapsule.addTransaction(new TransactionCapsule(TransferContract.newBuilder()
+          .setAmount(i).build(), ContractType.TransferContract));
+      Assert.assertSame(builder, blockCapsule.getBlockBuilder());
+    }
+
+    Assert.assertEquals(100, blockCapsule.getInstance().getTransactionsCount());
+    Assert.assertNull(blockCapsule.getBlockBuilder());
+  }
+
   @Test
   public void testGetData() {
     blockCapsule0.getData();
@@ -0,0 +1,124 @@
+package org.tron.core.db;
+
+import com.google.protobuf.ByteString;
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.tron.common.application.TronApplicationContext;
+import org.tron.common.runtime.RuntimeImpl;
+import org.tron.common.utils.ByteArray;
+import org.tron.common.utils.FileUtil;
+import org.tron.core.Constant;
+import org.tron.core.Wallet;
+import org.tron.core.capsule.AccountCapsule;
+import org.tron.core.capsule.TransactionCapsule;
+import org.tron.core.config.DefaultConfig;
+import org.tron.core.config.args.Args;
+import org.tron.core.db2.common.WrappedByteArray;
+import org.tron.core.store.AccountStore;
+import org.tron.core.store.StoreFactory;
+import org.tron.protos.Protocol.AccountType;
+import org.tron.protos.Protocol.Transaction.Contract.ContractType;
+import org.tron.protos.contract.BalanceContract.TransferContract;
+
+public class PendingManagerTest {
+
+  private static final String dbPath = "output_PendingManager_test";
+  private static final long BALANCE = 1_000_000L;
+  private static final long AMOUNT = 100L;
+  private static final byte[] OWNER_A = address("a1");
+  private static final byte[] OWNER_B = address("b1");
+  private static final byte[] TO_A = address("a2");
+  private static final byte[] TO_B = address("b2");
+
+  private TronApplicationContext context;
+  private Manager dbManager;
+  private AccountStore accountStore;
+
+  private static byte[] address(String suffix) {
+    return ByteArray.fromHexString(Wallet.getAddressPreFixString()
+        + "548794500882809695a8a687866e76d4271a1a" + suffix);
+  }
+
+  @Before
+  public void init() throws InterruptedException {
+    Args.setParam(new String[]{"-d", dbPath}, Constant.TEST_CONF);
+    Args.getInstance().setIncrementalPendingRevalidation(true);
+    context = new TronApplicationContext(DefaultConfig.class);
+    dbManager = context.getBean(Manager.class);
+    // keep the re-pushed transactions in the queue to look at them
+    dbManager.stopRePushThread();
+    Thread.sleep(100);
+    accountStore = dbManager.getAccountStore();
+    for (byte[] address : new byte[][]{OWNER_A, OWNER_B, TO_A, TO_B}) {
+      accountStore.put(address, new AccountCapsule(ByteString.EMPTY,
+          ByteString.copyFrom(address), AccountType.Normal, BALANCE));
+    }
+  }
+
+  @After
+  public void destroy() {
+    Args.clearParam();
+    context.destroy();
+    FileUtil.deleteDir(new File(dbPath));
+  }
+
+  private static TransactionCapsule transfer(byte[] owner, byte[] to) {
+    TransferContract contract = TransferContract.newBuilder()
+        .setOwnerAddress(ByteString.copyFrom(owner))
+        .setToAddress(ByteString.copyFrom(to))
+        .setAmount(AMOUNT)
+        .build();
+    TransactionCapsule trx = new TransactionCapsule(contract, ContractType.TransferContract);
+    trx.setExpiration(System.currentTimeMillis() + 60_000);
+    trx.setTime(System.currentTimeMillis());
+    trx.setTrxTrace(new TransactionTrace(trx, StoreFactory.getInstance(), new RuntimeImpl()));
+    return trx;
+  }
+
+  // what applying the transfer to the pending state recorded
+  private PendingResult result(byte[] owner, byte[] to) {
+    Map<WrappedByteArray, byte[]> accountReads = new HashMap<>();
+    Map<WrappedByteArray, WrappedByteArray> accountWrites = new HashMap<>();
+    for (byte[] address : new byte[][]{owner, to}) {
+      AccountCapsule account = accountStore.get(address);
+      accountReads.put(WrappedByteArray.of(address), account.getData());
+      account.setBalance(account.getBalance() + (address == owner ? -AMOUNT : AMOUNT));
+      accountWrites.put(WrappedByteArray.of(address), WrappedByteArray.of(account.getData()));
+    }
+    return new PendingResult(ContractType.TransferContract, owner, 0,
+        Collections.singletonMap("account", accountReads), Collections.emptySet(),
+        Collections.singletonMap("account", accountWrites));
+  }
+
+  @Test
+  public void testReplayUntouched() {
+    TransactionCapsule trxA = transfer(OWNER_A, TO_A);
+    TransactionCapsule trxB = transfer(OWNER_B, TO_B);
+    dbManager.getPendingTransactions().add(trxA, result(OWNER_A, TO_A));
+    dbManager.getPendingTransactions().add(trxB, result(OWNER_B, TO_B));
+
+    try (PendingManager pm = new PendingManager(dbManager)) {
+      // the block touches the owner of trxA only
+      AccountCapsule owner = accountStore.get(OWNER_A);
+      owner.setBalance(BALANCE - 1);
+      accountStore.put(OWNER_A, owner);
+    }
+
+    List<TransactionCapsule> rePushed = new ArrayList<>(dbManager.getRePushTransactions());
+    Assert.assertEquals(Collections.singletonList(trxA), rePushed);
+    Assert.assertEquals(Collections.singletonList(trxB),
+        dbManager.getPendingTransactions().getTransactions());
+    Assert.assertEquals(BALANCE - AMOUNT, accountStore.get(OWNER_B).getBalance());
+    Assert.assertEquals(BALANCE + AMOUNT, accountStore.get(TO_B).getBalance());
+    Assert.assertEquals(BALANCE - 1, accountStore.get(OWNER_A).getBalance());
+    Assert.assertEquals(BALANCE, accountStore.get(TO_A).getBalance());
+  }
+}
@@ -0,0 +1,160 @@
+package org.tron.core.db;
+
+import com.google.protobuf.ByteString;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.junit.Assert;
+import org.junit.Test;
+import org.tron.core.capsule.TransactionCapsule;
+import org.tron.core.db2.common.WrappedByteArray;
+import org.tron.core.store.DynamicPropertiesStore;
+import org.tron.protos.Protocol.Transaction.Contract.ContractType;
+import org.tron.protos.contract.BalanceContract.TransferContract;
+
+public class PendingPoolTest {
+
+  private static final byte[] OWNER_A = {0x41, 1};
+  private static final byte[] OWNER_B = {0x41, 2};
+  private static final byte[] OWNER_C = {0x41, 3};
+
+  private static TransactionCapsule transfer(byte[] owner, long amount, long time) {
+    TransferContract contract = TransferContract.newBuilder()
+        .setOwnerAddress(ByteString.copyFrom(owner))
+        .setToAddress(ByteString.copyFrom(OWNER_C))
+        .setAmount(amount)
+        .build();
+    TransactionCapsule trx = new TransactionCapsule(contract, ContractType.TransferContract);
+    trx.setTime(time);
+    return trx;
+  }
+
+  private static List<TransactionCapsule> drain(Iterator<TransactionCapsule> iterator) {
+    List<TransactionCapsule> result = new ArrayList<>();
+    iterator.forEachRemaining(result::add);
+    return result;
+  }
+
+  @Test
+  public void testIndex() {
+    PendingPool pool = new PendingPool();
+    TransactionCapsule a1 = transfer(OWNER_A, 1, 0);
+    TransactionCapsule b1 = transfer(OWNER_B, 1, 0);
+    TransactionCapsule a2 = transfer(OWNER_A, 2, 0);
+    pool.add(a1);
+    pool.add(b1);
+    pool.add(a2);
+    pool.add(a2);
+
+    Assert.assertEquals(3, pool.size());
+    Assert.assertSame(b1, pool.get(b1.getTransactionId()));
+    Assert.assertEquals(Arrays.asList(a1, a2), pool.getByOwner(OWNER_A));
+    Assert.assertEquals(Arrays.asList(a1, b1, a2), pool.getTransactions());
+
+    Assert.assertTrue(pool.remove(a1));
+    Assert.assertFalse(pool.remove(a1));
+    Assert.assertFalse(pool.contains(a1.getTransactionId()));
+    Assert.assertEquals(Arrays.asList(a2), pool.getByOwner(OWNER_A));
+
+    pool.clear();
+    Assert.assertTrue(pool.isEmpty());
+    Assert.assertTrue(pool.getByOwner(OWNER_B).isEmpty());
+  }
+
+  @Test
+  public void testSelect() {
+    PendingPool pool = new PendingPool();
+    TransactionCapsule a1 = transfer(OWNER_A, 1, 0);
+    TransactionCapsule a2 = transfer(OWNER_A, 2, 0);
+    TransactionCapsule b1 = transfer(OWNER_B, 1, 0);
+    TransactionCapsule b2 = transfer(OWNER_B, 2, 0);
+    TransactionCapsule c1 = transfer(OWNER_C, 1, 0);
+    pool.add(a1, 10, null);
+    pool.add(a2, 1000, null);
+    pool.add(b1, 100, null);
+    pool.add(b2, 0, null);
+    pool.add(c1, 100, null);
+
+    // a2 pays the most but has to wait for a1 of the same owner
+    Iterator<TransactionCapsule> iterator = pool.select();
+    List<TransactionCapsule> selected = new ArrayList<>();
+    while (iterator.hasNext()) {
+      TransactionCapsule trx = iterator.next();
+      selected.add(trx);
+      pool.remove(trx);
+    }
+    Assert.assertEquals(Arrays.asList(b1, c1, a1, a2, b2), selected);
+    Assert.assertTrue(pool.isEmpty());
+    Assert.assertFalse(pool.select().hasNext());
+  }
+
+  @Test
+  public void testRemoveExpired() {
+    PendingPool pool = new PendingPool();
+    TransactionCapsule a1 = transfer(OWNER_A, 1, 100);
+    TransactionCapsule b1 = transfer(OWNER_B, 1, 300);
+    TransactionCapsule a2 = transfer(OWNER_A, 2, 200);
+    pool.add(a1);
+    pool.add(b1);
+    pool.add(a2);
+
+    Assert.assertEquals(2, pool.removeExpired(200));
+    Assert.assertEquals(Arrays.asList(b1), pool.getTransactions());
+    Assert.assertTrue(pool.getByOwner(OWNER_A).isEmpty());
+    Assert.assertEquals(Arrays.asList(b1), drain(pool.select()));
+  }
+
+  @Test
+  public void testResult() {
+    WrappedByteArray accountA = WrappedByteArray.of(OWNER_A);
+    WrappedByteArray accountB = WrappedByteArray.of(OWNER_B);
+    Map<String, Map<WrappedByteArray, byte[]>> reads = new HashMap<>();
+    reads.put("account", Collections.singletonMap(accountA, new byte[1]));
+    Map<String, Map<WrappedByteArray, WrappedByteArray>> writes = new HashMap<>();
+    writes.put("account", Collections.singletonMap(accountA, WrappedByteArray.of(new byte[1])));
+    Set<String> scans = new HashSet<>();
+    PendingResult result = new PendingResult(ContractType.TransferContract, OWNER_A, 0, reads,
+        scans, writes);
+
+    PendingPool pool = new PendingPool();
+    TransactionCapsule a1 = transfer(OWNER_A, 1, 0);
+    pool.add(a1, result);
+    Assert.assertSame(result, pool.getResult(a1.getTransactionId()));
+
+    Assert.assertTrue(result.isReplayable(dirty("account", accountB)));
+    Assert.assertFalse(result.isReplayable(dirty("account", accountA)));
+    // every block moves the head timestamp
+    Assert.assertTrue(result.isReplayable(dirty("properties", WrappedByteArray
+        .of(DynamicPropertiesStore.getLatestBlockHeaderTimestampKey()))));
+    WrappedByteArray fee = WrappedByteArray.of("TRANSACTION_FEE".getBytes());
+    reads.put("properties", Collections.singletonMap(fee, new byte[1]));
+    Assert.assertFalse(result.isReplayable(dirty("properties", fee)));
+    reads.remove("properties");
+
+    scans.add("witness");
+    Assert.assertTrue(result.isReplayable(dirty("account", accountB)));
+    Assert.assertFalse(result.isReplayable(dirty("witness", accountB)));
+    scans.clear();
+
+    writes.put("properties", Collections.emptyMap());
+    Assert.assertFalse(result.isReplayable(dirty("account", accountB)));
+    writes.remove("properties");
+
+    // a transaction creating an account has nothing to check the account against
+    writes.put("account", Collections.singletonMap(accountB, WrappedByteArray.of(new byte[1])));
+    Assert.assertFalse(result.isReplayable(Collections.emptyMap()));
+
+    Assert.assertFalse(new PendingResult(ContractType.TriggerSmartContract, OWNER_A, 0, reads,
+        scans, Collections.emptyMap()).isReplayable(Collections.emptyMap()));
+  }
+
+  private static Map<String, Set<WrappedByteArray>> dirty(String db, WrappedByteArray key) {
+    return Collections.singletonMap(db, Collections.singleton(key));
+  }
+}
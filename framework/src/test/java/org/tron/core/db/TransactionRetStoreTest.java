@@ -69,6 +69,35 @@ public class TransactionRetStoreTest {
     Assert.assertNotNull("get transaction ret store", resultCapsule);
   }
 
+  @Test
+  public void getAmongMany() throws BadItemException {
+    byte[] blockNum2 = ByteArray.fromLong(2);
+    byte[][] ids = new byte[3][];
+    TransactionRetCapsule transactionRetCapsule = new TransactionRetCapsule();
+    for (int i = 0; i < ids.length; i++) {
+      ids[i] = TransactionStoreTest.randomBytes(32);
+      TransactionInfoCapsule transactionInfoCapsule = new TransactionInfoCapsule();
+      transactionInfoCapsule.setId(ids[i]);
+      transactionInfoCapsule.setFee(i);
+      transactionRetCapsule.addTransactionInfo(transactionInfoCapsule.getInstance());
+    }
+    transactionRetStore.put(blockNum2, transactionRetCapsule);
+
+    byte[] missing = TransactionStoreTest.randomBytes(32);
+    for (byte[] id : new byte[][] {ids[0], ids[1], ids[2], missing}) {
+      TransactionCapsule transactionCapsule = new TransactionCapsule(transaction);
+      transactionCapsule.setBlockNum(2);
+      transactionStore.put(id, transactionCapsule);
+    }
+
+    for (int i = 0; i < ids.length; i++) {
+      TransactionInfoCapsule resultCapsule = transactionRetStore.getTransactionInfo(ids[i]);
+      Assert.assertArrayEquals(ids[i], resultCapsule.getId());
+      Assert.assertEquals(i, resultCapsule.getFee());
+    }
+    Assert.assertNull(transactionRetStore.getTransactionInfo(missing));
+  }
+
   @Test
   public void put() {
     TransactionInfoCapsule transactionInfoCapsule = new TransactionInfoCapsule();
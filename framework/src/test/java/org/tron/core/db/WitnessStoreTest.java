@@ -2,6 +2,7 @@ package org.tron.core.db;
 
 import com.google.protobuf.ByteString;
 import java.io.File;
+import java.util.List;
 import lombok.extern.slf4j.Slf4j;
 import org.junit.AfterClass;
 import org.junit.Assert;
@@ -65,5 +66,30 @@ public class WitnessStoreTest {
     Assert.assertEquals(100L, witnessSource.getVoteCount());
   }
 
+  @Test
+  public void testStandbyWitnesses() {
+    ByteString address = ByteString.copyFromUtf8("200000000x");
+    WitnessCapsule witnessCapsule = new WitnessCapsule(address, Long.MAX_VALUE, "");
+    witnessStore.put(address.toByteArray(), witnessCapsule);
+    List<WitnessCapsule> standby = witnessStore.getStandbyWitnesses();
+    Assert.assertEquals(address, standby.get(0).getAddress());
+    Assert.assertEquals(Long.MAX_VALUE, standby.get(0).getVoteCount());
+    for (int i = 1; i < standby.size(); i++) {
+      Assert.assertTrue(standby.get(i - 1).getVoteCount() >= standby.get(i).getVoteCount());
+    }
+
+    witnessCapsule.setUrl("url");
+    witnessStore.put(address.toByteArray(), witnessCapsule);
+    Assert.assertEquals(standby.size(), witnessStore.getStandbyWitnesses().size());
 
-}
\ No newline at end of file
+    witnessCapsule.setVoteCount(0);
+    witnessStore.put(address.toByteArray(), witnessCapsule);
+    standby = witnessStore.getStandbyWitnesses();
+    Assert.assertTrue(standby.stream().filter(w -> address.equals(w.getAddress()))
+        .allMatch(w -> w.getVoteCount() == 0));
+
+    witnessStore.delete(address.toByteArray());
+    Assert.assertTrue(witnessStore.getStandbyWitnesses().stream()
+        .noneMatch(w -> address.equals(w.getAddress())));
+  }
+}
@@ -0,0 +1,168 @@
+package org.tron.core.db2;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiFunction;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Ignore;
+import org.junit.Test;
+import org.tron.common.application.TronApplicationContext;
+import org.tron.common.utils.FileUtil;
+import org.tron.core.Constant;
+import org.tron.core.config.DefaultConfig;
+import org.tron.core.config.args.Args;
+import org.tron.core.db2.RevokingDbWithCacheNewValueTest.TestRevokingTronStore;
+import org.tron.core.db2.SnapshotRootTest.ProtoCapsuleTest;
+import org.tron.core.db2.core.Chainbase;
+import org.tron.core.db2.core.SnapshotManager;
+
+/**
+ * Block replay throughput and read throughput of a store read by api threads while blocks are
+ * applied to it, with the lock-free reads and with reads taking the store monitor as they used
+ * to, run by hand to compare them. The decoded reads are the ones the dynamic properties take.
+ */
+@Slf4j
+@Ignore
+public class ChainbaseContentionBenchmarkTest {
+
+  private static final String DIR = "output_ChainbaseContention_test";
+  private static final int[] READERS = {0, 1, 4, 16};
+  private static final int KEYS = 10_000;
+  private static final int BLOCKS = 2_000;
+  private static final int WRITES_PER_BLOCK = 200;
+
+  private TronApplicationContext context;
+  private SnapshotManager revokingDatabase;
+  private TestRevokingTronStore store;
+  private byte[][] keys;
+
+  @Before
+  public void init() {
+    Args.setParam(new String[]{"-d", DIR}, Constant.TEST_CONF);
+    context = new TronApplicationContext(DefaultConfig.class);
+    revokingDatabase = context.getBean(SnapshotManager.class);
+    revokingDatabase.enable();
+    store = new TestRevokingTronStore("testChainbaseContention");
+    revokingDatabase.add(store.getRevokingDB());
+    revokingDatabase.setMaxFlushCount(0);
+    revokingDatabase.setUnChecked(false);
+    revokingDatabase.setMaxSize(20);
+
+    keys = new byte[KEYS][];
+    for (int i = 0; i < KEYS; i++) {
+      keys[i] = ("contention" + i).getBytes();
+      store.put(keys[i], new ProtoCapsuleTest(keys[i]));
+    }
+  }
+
+  @After
+  public void destroy() {
+    Args.clearParam();
+    context.destroy();
+    store.close();
+    FileUtil.deleteDir(new File(DIR));
+  }
+
+  private static byte[] read(Chainbase chainbase, byte[] key) {
+    return chainbase.getUnchecked(key);
+  }
+
+  // the read path before: every read waited on the monitor the block thread writes under
+  private static byte[] readLocked(Chainbase chainbase, byte[] key) {
+    synchronized (chainbase) {
+      return chainbase.getUnchecked(key);
+    }
+  }
+
+  private static byte[] readDecoded(Chainbase chainbase, byte[] key) {
+    return chainbase.getDecoded(key, byte[]::clone);
+  }
+
+  private static byte[] readDecodedLocked(Chainbase chainbase, byte[] key) {
+    synchronized (chainbase) {
+      return chainbase.getDecoded(key, byte[]::clone);
+    }
+  }
+
+  private void replay(Random random) {
+    for (int block = 0; block < BLOCKS; block++) {
+      try (ISession session = revokingDatabase.buildSession()) {
+        for (int i = 0; i < WRITES_PER_BLOCK; i++) {
+          byte[] key = keys[random.nextInt(KEYS)];
+          store.put(key, new ProtoCapsuleTest(("block" + block).getBytes()));
+        }
+        session.commit();
+      }
+    }
+  }
+
+  private void run(String name, int readers, BiFunction<Chainbase, byte[], byte[]> read)
+      throws Exception {
+    Chainbase chainbase = (Chainbase) store.getRevokingDB();
+    ExecutorService service = Executors.newFixedThreadPool(Math.max(1, readers));
+    AtomicBoolean running = new AtomicBoolean(true);
+    LongAdder reads = new LongAdder();
+    List<Future<Long>> results = new ArrayList<>();
+    for (int t = 0; t < readers; t++) {
+      long seed = t;
+      results.add(service.submit(() -> {
+        Random random = new Random(seed);
+        long checksum = 0;
+        while (running.get()) {
+          byte[] value = read.apply(chainbase, keys[random.nextInt(KEYS)]);
+          checksum += value == null ? 0 : value[0];
+          reads.increment();
+        }
+        return checksum;
+      }));
+    }
+
+    long start = System.nanoTime();
+    replay(new Random(0));
+    long cost = System.nanoTime() - start;
+    running.set(false);
+    long checksum = 0;
+    for (Future<Long> result : results) {
+      checksum += result.get();
+    }
+    service.shutdown();
+    service.awaitTermination(1, TimeUnit.MINUTES);
+
+    logger.info("{}, {} readers: replay {} ms, {} reads/s, checksum: {}", name, readers,
+        TimeUnit.NANOSECONDS.toMillis(cost), reads.sum() * 1_000_000_000L / cost, checksum);
+  }
+
+  @Test
+  public void benchmark() throws Exception {
+    // warm up
+    run("warm up", 4, ChainbaseContentionBenchmarkTest::read);
+    for (int readers : READERS) {
+      run("lock-free", readers, ChainbaseContentionBenchmarkTest::read);
+      run("locked", readers, ChainbaseContentionBenchmarkTest::readLocked);
+    }
+
+    ((Chainbase) store.getRevokingDB()).enableDecodedCache();
+    run("warm up decoded", 4, ChainbaseContentionBenchmarkTest::readDecoded);
+    for (int readers : READERS) {
+      run("decoded lock-free", readers, ChainbaseContentionBenchmarkTest::readDecoded);
+      run("decoded locked", readers, ChainbaseContentionBenchmarkTest::readDecodedLocked);
+    }
+
+    // no decoded value left behind by a reader racing with the block thread
+    Chainbase chainbase = (Chainbase) store.getRevokingDB();
+    for (byte[] key : keys) {
+      Assert.assertArrayEquals(chainbase.getUnchecked(key), readDecoded(chainbase, key));
+    }
+  }
+}
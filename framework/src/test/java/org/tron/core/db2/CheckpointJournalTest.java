@@ -0,0 +1,86 @@
+package org.tron.core.db2;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+import org.tron.common.utils.FileUtil;
+import org.tron.core.db2.core.CheckpointJournal;
+
+public class CheckpointJournalTest {
+
+  private static final String DIR = "output_CheckpointJournal_test";
+
+  @After
+  public void destroy() {
+    FileUtil.deleteDir(new File(DIR));
+  }
+
+  private static void write(CheckpointJournal journal, String prefix, int count)
+      throws IOException {
+    CheckpointJournal.Writer writer = journal.begin();
+    for (int i = 0; i < count; i++) {
+      writer.append((prefix + i).getBytes(), new byte[] {(byte) i});
+    }
+    writer.commit();
+  }
+
+  private static List<String> replay(CheckpointJournal journal) throws IOException {
+    List<String> keys = new ArrayList<>();
+    Assert.assertTrue(journal.replay((key, value) -> keys.add(new String(key))));
+    return keys;
+  }
+
+  private static File[] segments() {
+    File[] files = new File(DIR).listFiles();
+    Assert.assertNotNull(files);
+    return files;
+  }
+
+  @Test
+  public void testReplaySegments() throws IOException {
+    CheckpointJournal journal = new CheckpointJournal(DIR, 64);
+    Assert.assertFalse(journal.replay((key, value) -> Assert.fail()));
+
+    write(journal, "a", 20);
+    Assert.assertTrue(segments().length > 1);
+    List<String> keys = replay(journal);
+    Assert.assertEquals(20, keys.size());
+    Assert.assertEquals("a0", keys.get(0));
+    Assert.assertEquals("a19", keys.get(19));
+
+    // a new generation replaces the old one, and survives a restart
+    write(journal, "b", 3);
+    journal = new CheckpointJournal(DIR, 64);
+    Assert.assertEquals(3, replay(journal).size());
+    Assert.assertEquals("b0", replay(journal).get(0));
+
+    journal.clear();
+    Assert.assertEquals(0, segments().length);
+  }
+
+  @Test
+  public void testTornGeneration() throws IOException {
+    CheckpointJournal journal = new CheckpointJournal(DIR);
+    write(journal, "a", 5);
+
+    // a crash before the next generation is committed falls back to the previous one
+    CheckpointJournal.Writer writer = journal.begin();
+    writer.append("b0".getBytes(), new byte[] {1});
+    journal = new CheckpointJournal(DIR);
+    Assert.assertEquals("a0", replay(journal).get(0));
+    writer.abort();
+
+    // a torn segment is never replayed
+    for (File file : segments()) {
+      try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+        raf.setLength(raf.length() - 3);
+      }
+    }
+    Assert.assertFalse(new CheckpointJournal(DIR).replay((key, value) -> Assert.fail()));
+  }
+}
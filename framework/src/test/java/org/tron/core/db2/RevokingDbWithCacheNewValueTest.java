@@ -19,6 +19,7 @@ import org.tron.core.config.DefaultConfig;
 import org.tron.core.config.args.Args;
 import org.tron.core.db.TronStoreWithRevoking;
 import org.tron.core.db2.SnapshotRootTest.ProtoCapsuleTest;
+import org.tron.core.db2.core.Chainbase;
 import org.tron.core.db2.core.SnapshotManager;
 import org.tron.core.exception.RevokingStoreIllegalStateException;
 
@@ -167,6 +168,48 @@ public class RevokingDbWithCacheNewValueTest {
     Assert.assertEquals(testProtoCapsule, tronDatabase.get(testProtoCapsule.getData()));
   }
 
+  @Test
+  public synchronized void testDecodedCache() {
+    revokingDatabase = context.getBean(SnapshotManager.class);
+    revokingDatabase.enable();
+    tronDatabase = new TestRevokingTronStore("testRevokingDBWithCacheNewValue-testDecodedCache");
+    revokingDatabase.add(tronDatabase.getRevokingDB());
+    Chainbase chainbase = (Chainbase) tronDatabase.getRevokingDB();
+    chainbase.enableDecodedCache();
+
+    while (revokingDatabase.size() != 0) {
+      revokingDatabase.pop();
+    }
+    byte[] key = "decoded".getBytes();
+    SessionOptional dialog = SessionOptional.instance().setValue(revokingDatabase.buildSession());
+    tronDatabase.put(key, new ProtoCapsuleTest("v1".getBytes()));
+    Assert.assertEquals("v1", chainbase.getDecoded(key, String::new));
+
+    try (ISession tmpSession = revokingDatabase.buildSession()) {
+      Assert.assertEquals("v1", chainbase.getDecoded(key, String::new));
+      tronDatabase.put(key, new ProtoCapsuleTest("v2".getBytes()));
+      Assert.assertEquals("v2", chainbase.getDecoded(key, String::new));
+    }
+    Assert.assertEquals("v1", chainbase.getDecoded(key, String::new));
+
+    try (ISession tmpSession = revokingDatabase.buildSession()) {
+      tronDatabase.put(key, new ProtoCapsuleTest("v3".getBytes()));
+      Assert.assertEquals("v3", chainbase.getDecoded(key, String::new));
+      tmpSession.merge();
+    }
+    Assert.assertEquals("v3", chainbase.getDecoded(key, String::new));
+
+    try (ISession tmpSession = revokingDatabase.buildSession()) {
+      tronDatabase.delete(key);
+      Assert.assertNull(chainbase.getDecoded(key, String::new));
+      tmpSession.merge();
+    }
+    Assert.assertNull(chainbase.getDecoded(key, String::new));
+
+    dialog.reset();
+    Assert.assertNull(chainbase.getDecoded(key, String::new));
+  }
+
   @Test
   public synchronized void testGetlatestValues() {
     revokingDatabase = context.getBean(SnapshotManager.class);
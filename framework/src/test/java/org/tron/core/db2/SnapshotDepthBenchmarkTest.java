@@ -0,0 +1,151 @@
+package org.tron.core.db2;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.Function;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.Ignore;
+import org.junit.Test;
+import org.tron.core.db2.common.DB;
+import org.tron.core.db2.common.Key;
+import org.tron.core.db2.common.Value;
+import org.tron.core.db2.common.WrappedByteArray;
+import org.tron.core.db2.core.Snapshot;
+import org.tron.core.db2.core.SnapshotImpl;
+import org.tron.core.db2.core.SnapshotRoot;
+
+/**
+ * Cost of a read through snapshot stacks of different depths, with the per-layer key filters
+ * and with the plain walk over every layer, run by hand to compare them.
+ */
+@Slf4j
+@Ignore
+public class SnapshotDepthBenchmarkTest {
+
+  private static final int[] DEPTHS = {1, 16, 64, 256};
+  private static final int KEYS_PER_LAYER = 1000;
+  private static final int LOOKUPS = 10_000;
+  private static final int WARM_UP_ROUNDS = 20;
+  private static final int ROUNDS = 50;
+
+  private static byte[] key(Random random) {
+    byte[] key = new byte[21];
+    random.nextBytes(key);
+    return key;
+  }
+
+  // the read path before the filters: a map lookup in each layer
+  private static byte[] walk(Snapshot head, byte[] key) {
+    Snapshot snapshot = head;
+    Value value;
+    while (Snapshot.isImpl(snapshot)) {
+      if ((value = ((SnapshotImpl) snapshot).getDb().get(Key.of(key))) != null) {
+        return value.getBytes();
+      }
+      snapshot = snapshot.getPrevious();
+    }
+    return snapshot == null ? null : snapshot.get(key);
+  }
+
+  private static void run(String name, byte[][] keys, Function<byte[], byte[]> read) {
+    for (int i = 0; i < WARM_UP_ROUNDS; i++) {
+      round(keys, read);
+    }
+
+    long start = System.nanoTime();
+    long checksum = 0;
+    for (int i = 0; i < ROUNDS; i++) {
+      checksum += round(keys, read);
+    }
+    long cost = (System.nanoTime() - start) / ((long) ROUNDS * keys.length);
+    logger.info("{}: {} ns/read, checksum: {}", name, cost, checksum);
+  }
+
+  private static long round(byte[][] keys, Function<byte[], byte[]> read) {
+    long checksum = 0;
+    for (byte[] key : keys) {
+      byte[] value = read.apply(key);
+      checksum += value == null ? 0 : value[0];
+    }
+    return checksum;
+  }
+
+  @Test
+  public void benchmark() {
+    Random random = new Random(0);
+    for (int depth : DEPTHS) {
+      MemoryDB memory = new MemoryDB();
+      byte[][] misses = new byte[LOOKUPS][];
+      for (int i = 0; i < LOOKUPS; i++) {
+        misses[i] = key(random);
+        memory.put(misses[i], new byte[] {1});
+      }
+
+      Snapshot head = new SnapshotRoot(memory);
+      byte[][] hits = new byte[KEYS_PER_LAYER][];
+      for (int layer = 0; layer < depth; layer++) {
+        head = head.advance();
+        for (int i = 0; i < KEYS_PER_LAYER; i++) {
+          byte[] key = key(random);
+          head.put(key, new byte[] {2});
+          if (layer == 0) {
+            hits[i] = key;
+          }
+        }
+      }
+
+      Snapshot top = head;
+      run("depth " + depth + " miss, filter", misses, top::get);
+      run("depth " + depth + " miss, walk", misses, key -> walk(top, key));
+      run("depth " + depth + " deepest hit, filter", hits, top::get);
+      run("depth " + depth + " deepest hit, walk", hits, key -> walk(top, key));
+    }
+  }
+
+  private static class MemoryDB implements DB<byte[], byte[]> {
+
+    private final Map<WrappedByteArray, byte[]> db = new HashMap<>();
+
+    @Override
+    public byte[] get(byte[] key) {
+      return db.get(WrappedByteArray.of(key));
+    }
+
+    @Override
+    public void put(byte[] key, byte[] value) {
+      db.put(WrappedByteArray.copyOf(key), value);
+    }
+
+    @Override
+    public long size() {
+      return db.size();
+    }
+
+    @Override
+    public boolean isEmpty() {
+      return db.isEmpty();
+    }
+
+    @Override
+    public void remove(byte[] key) {
+      db.remove(WrappedByteArray.of(key));
+    }
+
+    @Override
+    public String getDbName() {
+      return "benchmark";
+    }
+
+    @Override
+    public Iterator<Map.Entry<byte[], byte[]>> iterator() {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public DB<byte[], byte[]> newInstance() {
+      return new MemoryDB();
+    }
+  }
+}
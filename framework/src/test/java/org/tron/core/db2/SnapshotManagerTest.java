@@ -1,6 +1,12 @@
 package org.tron.core.db2;
 
 import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
 import lombok.extern.slf4j.Slf4j;
 import org.junit.After;
 import org.junit.Assert;
@@ -15,6 +21,9 @@ import org.tron.core.config.DefaultConfig;
 import org.tron.core.config.args.Args;
 import org.tron.core.db2.RevokingDbWithCacheNewValueTest.TestRevokingTronStore;
 import org.tron.core.db2.SnapshotRootTest.ProtoCapsuleTest;
+import org.tron.core.db2.core.Chainbase;
+import org.tron.core.db2.core.Snapshot;
+import org.tron.core.db2.core.SnapshotImpl;
 import org.tron.core.db2.core.SnapshotManager;
 import org.tron.core.exception.BadItemException;
 import org.tron.core.exception.ItemNotFoundException;
@@ -73,6 +82,116 @@ public class SnapshotManagerTest {
         tronDatabase.get(protoCapsule.getData()));
   }
 
+  @Test
+  public synchronized void testAsyncRefresh()
+      throws BadItemException, ItemNotFoundException {
+    while (revokingDatabase.size() != 0) {
+      revokingDatabase.pop();
+    }
+
+    revokingDatabase.setMaxFlushCount(0);
+    revokingDatabase.setUnChecked(false);
+    revokingDatabase.setMaxSize(5);
+    revokingDatabase.setAsyncFlush(true);
+    ProtoCapsuleTest protoCapsule = new ProtoCapsuleTest("asyncRefresh".getBytes());
+    for (int i = 1; i < 21; i++) {
+      ProtoCapsuleTest testProtoCapsule = new ProtoCapsuleTest(("asyncRefresh" + i).getBytes());
+      try (ISession tmpSession = revokingDatabase.buildSession()) {
+        tronDatabase.put(protoCapsule.getData(), testProtoCapsule);
+        tmpSession.commit();
+      }
+      Assert.assertEquals(testProtoCapsule, tronDatabase.get(protoCapsule.getData()));
+    }
+
+    // a synchronous flush completes the running one first
+    revokingDatabase.setAsyncFlush(false);
+    revokingDatabase.flush();
+    Assert.assertEquals(new ProtoCapsuleTest("asyncRefresh20".getBytes()),
+        tronDatabase.get(protoCapsule.getData()));
+    Assert.assertNotNull(((Chainbase) tronDatabase.getRevokingDB()).getHead().getRoot()
+        .get(protoCapsule.getData()));
+  }
+
+  @Test
+  public synchronized void testUntouchedStore() {
+    while (revokingDatabase.size() != 0) {
+      revokingDatabase.pop();
+    }
+
+    TestRevokingTronStore untouched = new TestRevokingTronStore("testSnapshotManager-untouched");
+    revokingDatabase.add(untouched.getRevokingDB());
+    ProtoCapsuleTest protoCapsule = new ProtoCapsuleTest("untouched".getBytes());
+    try (ISession session = revokingDatabase.buildSession()) {
+      try (ISession inner = revokingDatabase.buildSession()) {
+        tronDatabase.put(protoCapsule.getData(), protoCapsule);
+
+        // the store nothing was written to shares one empty layer
+        Snapshot head = ((Chainbase) untouched.getRevokingDB()).getHead();
+        Assert.assertTrue(((SnapshotImpl) head).getDb().isEmpty());
+        Assert.assertSame(((SnapshotImpl) head).getDb(),
+            ((SnapshotImpl) head.getPrevious()).getDb());
+        Assert.assertNull(untouched.get(protoCapsule.getData()));
+
+        untouched.put(protoCapsule.getData(), protoCapsule);
+        Assert.assertEquals(1, ((SnapshotImpl) head).getDb().size());
+        Assert.assertTrue(((SnapshotImpl) head.getPrevious()).getDb().isEmpty());
+        inner.merge();
+      }
+      session.commit();
+    }
+
+    revokingDatabase.flush();
+    Assert.assertEquals(protoCapsule, untouched.get(protoCapsule.getData()));
+    untouched.close();
+  }
+
+  @Test
+  public synchronized void testReadWhileWriting() throws Exception {
+    while (revokingDatabase.size() != 0) {
+      revokingDatabase.pop();
+    }
+
+    revokingDatabase.setMaxFlushCount(0);
+    revokingDatabase.setUnChecked(false);
+    revokingDatabase.setMaxSize(5);
+    ProtoCapsuleTest protoCapsule = new ProtoCapsuleTest("read".getBytes());
+    tronDatabase.put(protoCapsule.getData(), protoCapsule);
+
+    // readers do not lock the store, they must still see the key in every head
+    AtomicBoolean running = new AtomicBoolean(true);
+    ExecutorService readers = Executors.newFixedThreadPool(2);
+    List<Future<Integer>> misses = new ArrayList<>();
+    for (int t = 0; t < 2; t++) {
+      misses.add(readers.submit(() -> {
+        int miss = 0;
+        while (running.get()) {
+          if (tronDatabase.get(protoCapsule.getData()) == null) {
+            ++miss;
+          }
+        }
+        return miss;
+      }));
+    }
+
+    for (int i = 1; i < 200; i++) {
+      try (ISession tmpSession = revokingDatabase.buildSession()) {
+        for (int j = 0; j < 100; j++) {
+          byte[] key = ("read" + i + "-" + j).getBytes();
+          tronDatabase.put(key, new ProtoCapsuleTest(key));
+        }
+        tronDatabase.put(protoCapsule.getData(), new ProtoCapsuleTest(("read" + i).getBytes()));
+        if (i % 2 == 0) {
+          tmpSession.commit();
+        }
+      }
+    }
+    running.set(false);
+    for (Future<Integer> miss : misses) {
+      Assert.assertEquals(0, miss.get().intValue());
+    }
+    readers.shutdown();
+  }
+
   @Test
   public synchronized void testClose() {
     while (revokingDatabase.size() != 0) {
@@ -113,6 +113,40 @@ public class SnapshotRootTest {
     tronDatabase.close();
   }
 
+  @Test
+  public synchronized void testReadCache() {
+    Args.getInstance().getStorage().getReadCacheSizeMap()
+        .put("testSnapshotRoot-testReadCache", 10L);
+    tronDatabase = new TestRevokingTronStore("testSnapshotRoot-testReadCache");
+    revokingDatabase = context.getBean(SnapshotManager.class);
+    revokingDatabase.enable();
+    revokingDatabase.add(tronDatabase.getRevokingDB());
+    SnapshotRoot root = (SnapshotRoot) revokingDatabase.getDbs().get(0).getHead().getRoot();
+    Assert.assertNotNull(root.getReadCache());
+
+    ProtoCapsuleTest oldCapsule = new ProtoCapsuleTest("old".getBytes());
+    ProtoCapsuleTest newCapsule = new ProtoCapsuleTest("new".getBytes());
+    tronDatabase.put("cache".getBytes(), oldCapsule);
+    Assert.assertEquals(oldCapsule, tronDatabase.get("cache".getBytes()));
+    Assert.assertEquals(oldCapsule, tronDatabase.get("cache".getBytes()));
+    Assert.assertNull(root.get("absent".getBytes()));
+    Assert.assertNull(root.get("absent".getBytes()));
+
+    try (ISession tmpSession = revokingDatabase.buildSession()) {
+      tronDatabase.put("cache".getBytes(), newCapsule);
+      tronDatabase.put("absent".getBytes(), newCapsule);
+      tmpSession.commit();
+    }
+    revokingDatabase.getDbs().forEach(db -> db.getHead().getRoot().merge(db.getHead()));
+    Assert.assertEquals(newCapsule, new ProtoCapsuleTest(root.get("cache".getBytes())));
+    Assert.assertEquals(newCapsule, new ProtoCapsuleTest(root.get("absent".getBytes())));
+
+    root.reset();
+    Assert.assertNull(root.get("cache".getBytes()));
+    Assert.assertEquals(1, root.getReadCache().size());
+    tronDatabase.close();
+  }
+
   @NoArgsConstructor
   @AllArgsConstructor
   @EqualsAndHashCode
@@ -0,0 +1,108 @@
+package org.tron.core.db2;
+
+import com.google.common.primitives.Longs;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.tron.common.utils.Sha256Hash;
+import org.tron.core.db2.common.TxCacheDB;
+
+public class TxCacheDBTest {
+
+  @Rule
+  public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  private static byte[] id(long i) {
+    return Sha256Hash.hash(true, Longs.toByteArray(i));
+  }
+
+  @Test
+  public void testPutAndGet() {
+    TxCacheDB db = new TxCacheDB("trans-cache-test");
+    for (long i = 0; i < 200_000; i++) {
+      db.put(id(i), Longs.toByteArray(1000 + i / 100));
+    }
+    Assert.assertEquals(200_000, db.size());
+    for (long i = 0; i < 200_000; i++) {
+      Assert.assertEquals(1000 + i / 100, Longs.fromByteArray(db.get(id(i))));
+    }
+    Assert.assertNull(db.get(id(-1)));
+
+    db.remove(id(0));
+    Assert.assertNull(db.get(id(0)));
+    Assert.assertEquals(199_999, db.size());
+
+    db.put(id(1), Longs.toByteArray(5000));
+    Assert.assertEquals(5000, Longs.fromByteArray(db.get(id(1))));
+    Assert.assertEquals(199_999, db.size());
+  }
+
+  @Test
+  public void testEvictEldestBlock() {
+    TxCacheDB db = new TxCacheDB("trans-cache-test");
+    db.put(id(1), Longs.toByteArray(1));
+    db.put(id(2), Longs.toByteArray(2));
+    db.put(id(3), Longs.toByteArray(70_001));
+    Assert.assertNull(db.get(id(1)));
+    Assert.assertNotNull(db.get(id(2)));
+    Assert.assertEquals(2, db.size());
+
+    db.put(id(4), Longs.toByteArray(1));
+    Assert.assertNull(db.get(id(4)));
+
+    db.put(id(5), Longs.toByteArray(1_000_000));
+    Assert.assertNull(db.get(id(2)));
+    Assert.assertNull(db.get(id(3)));
+    Assert.assertEquals(1, db.size());
+
+    db.reset();
+    Assert.assertTrue(db.isEmpty());
+    Assert.assertNull(db.get(id(5)));
+  }
+
+  @Test
+  public void testCheckpoint() throws IOException {
+    TxCacheDB db = new TxCacheDB("trans-cache-test");
+    for (long i = 0; i < 1000; i++) {
+      db.put(id(i), Longs.toByteArray(100 + i / 10));
+    }
+    Path file = new File(temporaryFolder.getRoot(), "checkpoint").toPath();
+    Assert.assertEquals(199, db.checkpoint(file));
+
+    TxCacheDB loaded = new TxCacheDB("trans-cache-test");
+    Assert.assertEquals(-1, loaded.loadCheckpoint(file, 198));
+    Assert.assertTrue(loaded.isEmpty());
+    Assert.assertEquals(199, loaded.loadCheckpoint(file, 300));
+    Assert.assertEquals(1000, loaded.size());
+    for (long i = 0; i < 1000; i++) {
+      Assert.assertEquals(100 + i / 10, Longs.fromByteArray(loaded.get(id(i))));
+    }
+
+    Assert.assertEquals(-1, loaded.loadCheckpoint(
+        new File(temporaryFolder.getRoot(), "absent").toPath(), 300));
+  }
+
+  @Test
+  public void testCheckpointChunks() throws IOException {
+    // the table grows past one chunk of slots, and only part of the entries is in the window
+    TxCacheDB db = new TxCacheDB("trans-cache-test");
+    int count = 200_000;
+    for (long i = 0; i < count; i++) {
+      db.put(id(i), Longs.toByteArray(i));
+    }
+    Path file = new File(temporaryFolder.getRoot(), "checkpoint").toPath();
+    Assert.assertEquals(count - 1, db.checkpoint(file));
+    Assert.assertEquals(24 + db.size() * 40, file.toFile().length());
+
+    TxCacheDB loaded = new TxCacheDB("trans-cache-test");
+    Assert.assertEquals(count - 1, loaded.loadCheckpoint(file, count));
+    Assert.assertEquals(db.size(), loaded.size());
+    for (long i = 0; i < count; i++) {
+      Assert.assertArrayEquals(db.get(id(i)), loaded.get(id(i)));
+    }
+  }
+}
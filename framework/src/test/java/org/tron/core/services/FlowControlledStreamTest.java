@@ -0,0 +1,152 @@
+package org.tron.core.services;
+
+import io.grpc.stub.ServerCallStreamObserver;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class FlowControlledStreamTest {
+
+  /**
+   * Takes as many messages as it has room for, the test makes room and fires the callbacks the
+   * transport would.
+   */
+  private static class StubObserver extends ServerCallStreamObserver<Integer> {
+
+    private final List<Integer> received = new ArrayList<>();
+    private int room;
+    private int completed;
+    private Throwable error;
+    private Runnable onReadyHandler;
+    private Runnable onCancelHandler;
+
+    StubObserver(int room) {
+      this.room = room;
+    }
+
+    void makeRoom(int count) {
+      room += count;
+      onReadyHandler.run();
+    }
+
+    void cancel() {
+      onCancelHandler.run();
+    }
+
+    @Override
+    public boolean isReady() {
+      return room > 0;
+    }
+
+    @Override
+    public void onNext(Integer value) {
+      Assert.assertTrue("sent while not ready", room > 0);
+      --room;
+      received.add(value);
+    }
+
+    @Override
+    public void onError(Throwable t) {
+      error = t;
+    }
+
+    @Override
+    public void onCompleted() {
+      ++completed;
+    }
+
+    @Override
+    public boolean isCancelled() {
+      return false;
+    }
+
+    @Override
+    public void setOnCancelHandler(Runnable onCancelHandler) {
+      this.onCancelHandler = onCancelHandler;
+    }
+
+    @Override
+    public void setCompression(String compression) {
+    }
+
+    @Override
+    public void setOnReadyHandler(Runnable onReadyHandler) {
+      this.onReadyHandler = onReadyHandler;
+    }
+
+    @Override
+    public void disableAutoInboundFlowControl() {
+    }
+
+    @Override
+    public void request(int count) {
+    }
+
+    @Override
+    public void setMessageCompression(boolean enable) {
+    }
+  }
+
+  @Test
+  public void testStopWhenNotReady() {
+    StubObserver observer = new StubObserver(2);
+    FlowControlledStream.start(observer, Arrays.asList(1, 2, 3, 4, 5).iterator());
+    Assert.assertEquals(Arrays.asList(1, 2), observer.received);
+    Assert.assertEquals(0, observer.completed);
+
+    // resumed by the ready callback
+    observer.makeRoom(1);
+    Assert.assertEquals(Arrays.asList(1, 2, 3), observer.received);
+    observer.makeRoom(10);
+    Assert.assertEquals(Arrays.asList(1, 2, 3, 4, 5), observer.received);
+    Assert.assertEquals(1, observer.completed);
+
+    // a late ready callback does nothing
+    observer.makeRoom(1);
+    Assert.assertEquals(1, observer.completed);
+    Assert.assertNull(observer.error);
+  }
+
+  @Test
+  public void testCancel() {
+    StubObserver observer = new StubObserver(1);
+    FlowControlledStream.start(observer, Arrays.asList(1, 2, 3).iterator());
+    observer.cancel();
+    observer.makeRoom(10);
+    Assert.assertEquals(Arrays.asList(1), observer.received);
+    Assert.assertEquals(0, observer.completed);
+    Assert.assertNull(observer.error);
+  }
+
+  @Test
+  public void testSourceFails() {
+    StubObserver observer = new StubObserver(10);
+    Iterator<Integer> source = new Iterator<Integer>() {
+      private int next = 1;
+
+      @Override
+      public boolean hasNext() {
+        return true;
+      }
+
+      @Override
+      public Integer next() {
+        if (next > 2) {
+          throw new IllegalStateException("store closed");
+        }
+        return next++;
+      }
+    };
+    FlowControlledStream.start(observer, source);
+    Assert.assertEquals(Arrays.asList(1, 2), observer.received);
+    Assert.assertNotNull(observer.error);
+    Assert.assertEquals(0, observer.completed);
+
+    // nothing is sent after the error
+    observer.makeRoom(1);
+    Assert.assertEquals(Arrays.asList(1, 2), observer.received);
+  }
+}
@@ -0,0 +1,105 @@
+package org.tron.core.services.http;
+
+import com.alibaba.fastjson.JSON;
+import com.alibaba.fastjson.JSONObject;
+import com.google.protobuf.Any;
+import com.google.protobuf.ByteString;
+import org.junit.Assert;
+import org.junit.Test;
+import org.tron.api.GrpcAPI.BlockList;
+import org.tron.api.GrpcAPI.TransactionList;
+import org.tron.common.utils.ByteArray;
+import org.tron.protos.Protocol.Block;
+import org.tron.protos.Protocol.BlockHeader;
+import org.tron.protos.Protocol.Transaction;
+import org.tron.protos.Protocol.Transaction.Contract;
+import org.tron.protos.Protocol.Transaction.Contract.ContractType;
+import org.tron.protos.contract.BalanceContract.TransferContract;
+import org.tron.protos.contract.SmartContractOuterClass.CreateSmartContract;
+import org.tron.protos.contract.SmartContractOuterClass.SmartContract;
+
+public class UtilTest {
+
+  private static final ByteString OWNER = ByteString
+      .copyFrom(ByteArray.fromHexString("41abd4b9367799eaa3197fecb144eb71de1e049abc"));
+
+  private static Transaction transfer(long amount, int permissionId) {
+    TransferContract transfer = TransferContract.newBuilder()
+        .setOwnerAddress(OWNER)
+        .setToAddress(OWNER)
+        .setAmount(amount)
+        .build();
+    return Transaction.newBuilder()
+        .setRawData(Transaction.raw.newBuilder()
+            .addContract(Contract.newBuilder()
+                .setType(ContractType.TransferContract)
+                .setParameter(Any.pack(transfer))
+                .setPermissionId(permissionId))
+            .setTimestamp(amount)
+            .setExpiration(amount + 60_000)
+            .setData(ByteString.copyFromUtf8("memo \"quoted\"\n")))
+        .addSignature(ByteString.copyFrom(new byte[65]))
+        .build();
+  }
+
+  private static Transaction deploy() {
+    CreateSmartContract deploy = CreateSmartContract.newBuilder()
+        .setOwnerAddress(OWNER)
+        .setNewContract(SmartContract.newBuilder()
+            .setName("test")
+            .setBytecode(ByteString.copyFrom(new byte[] {0x60, 0x60})))
+        .build();
+    return Transaction.newBuilder()
+        .setRawData(Transaction.raw.newBuilder()
+            .addContract(Contract.newBuilder()
+                .setType(ContractType.CreateSmartContract)
+                .setParameter(Any.pack(deploy)))
+            .setFeeLimit(1_000_000))
+        .build();
+  }
+
+  private static Block block(Transaction... transactions) {
+    Block.Builder block = Block.newBuilder().setBlockHeader(BlockHeader.newBuilder()
+        .setRawData(BlockHeader.raw.newBuilder()
+            .setNumber(7)
+            .setWitnessAddress(OWNER)
+            .setTimestamp(1_000)));
+    for (Transaction transaction : transactions) {
+      block.addTransactions(transaction);
+    }
+    return block.build();
+  }
+
+  @Test
+  public void testPrintBlock() {
+    for (boolean visible : new boolean[] {false, true}) {
+      Block block = block(transfer(1, 0), deploy(), transfer(2, 2));
+      Assert.assertEquals(JSON.parseObject(Util.printBlockToJSON(block, visible).toJSONString()),
+          JSON.parseObject(Util.printBlock(block, visible)));
+
+      Block empty = block();
+      JSONObject json = JSON.parseObject(Util.printBlock(empty, visible));
+      Assert.assertFalse(json.containsKey("transactions"));
+      Assert.assertEquals(JSON.parseObject(Util.printBlockToJSON(empty, visible).toJSONString()),
+          json);
+    }
+  }
+
+  @Test
+  public void testPrintLists() {
+    Block block = block(transfer(1, 0), deploy());
+    JSONObject blocks = JSON.parseObject(Util.printBlockList(
+        BlockList.newBuilder().addBlock(block).addBlock(block()).build(), true));
+    Assert.assertEquals(2, blocks.getJSONArray("block").size());
+    Assert.assertEquals(JSON.parseObject(Util.printBlockToJSON(block, true).toJSONString()),
+        blocks.getJSONArray("block").getJSONObject(0));
+    Assert.assertEquals(0, JSON.parseObject(Util.printBlockList(
+        BlockList.getDefaultInstance(), true)).getJSONArray("block").size());
+
+    JSONObject transactions = JSON.parseObject(Util.printTransactionList(
+        TransactionList.newBuilder().addTransaction(deploy()).build(), false));
+    Assert.assertEquals(
+        JSON.parseObject(Util.printTransactionToJSON(deploy(), false).toJSONString()),
+        transactions.getJSONArray("transaction").getJSONObject(0));
+  }
+}